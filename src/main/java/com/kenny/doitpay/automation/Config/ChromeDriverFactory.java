@@ -1,19 +1,66 @@
 package com.kenny.doitpay.automation.Config;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.net.PortProber;
+
 import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Factory untuk membuat session Chrome.
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>BROWSER_MODE</code> — <code>normal</code> / <code>headless</code></li>
+ *   <li><code>CHROMEDRIVER_SHARED_SERVICE</code> — <code>true</code> untuk memakai satu proses
+ *       chromedriver per JVM untuk semua session (default <code>false</code>)</li>
+ *   <li><code>CHROMEDRIVER_PATH</code> — path binary chromedriver; jika diisi, resolusi
+ *       WebDriverManager dilewati sepenuhnya (mode offline)</li>
+ *   <li><code>LEAN_PAGE_LOAD</code> / <code>PAGE_LOAD_STRATEGY</code> — lihat {@link LeanPageLoad}</li>
+ * </ul>
+ *
+ * <p>
+ * Resolusi binary chromedriver hanya dilakukan sekali per JVM. Path hasil resolusi
+ * disimpan di cache WebDriverManager sehingga run berikutnya tetap bisa berjalan
+ * ketika resolusi online gagal (misalnya agent tanpa akses internet).
+ * </p>
+ */
 public class ChromeDriverFactory implements DriverFactory {
 
+    /** Satu proses chromedriver untuk semua session */
+    public static final boolean SHARED_SERVICE =
+            Boolean.parseBoolean(System.getProperty("CHROMEDRIVER_SHARED_SERVICE", "false"));
+
+    private static final String RESOLVED_PATH_FILE = "doitpay-chromedriver.path";
+
+    private static volatile String driverBinaryPath;
+    private static SharedChromeDriverService sharedService;
+
+    private static final AtomicInteger sessionsCreated = new AtomicInteger();
+    private static final AtomicInteger processesSpawned = new AtomicInteger();
+    private static final AtomicLong totalCreateNanos = new AtomicLong();
+
     @Override
     public WebDriver createDriver() {
-    	
-    	WebDriverManager.chromedriver().setup();
-    	
+    	long start = System.nanoTime();
+
+    	String binary = resolveDriverBinary();
+
         // Nonaktifkan logging yang tidak perlu
         System.setProperty("webdriver.chrome.silentOutput", "true");
         System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "off");
@@ -30,9 +77,9 @@ public class ChromeDriverFactory implements DriverFactory {
         // Headless mode jika dijalankan di Jenkins
         String browserMode = System.getProperty("BROWSER_MODE", "normal");
         if ("headless".equalsIgnoreCase(browserMode)) {
-        	
-            options.addArguments("--headless"); 
-            
+
+            options.addArguments("--headless");
+
             options.addArguments("--window-size=1920,1080");
             options.addArguments("--disable-gpu");
             options.addArguments("--no-sandbox");
@@ -45,8 +92,135 @@ public class ChromeDriverFactory implements DriverFactory {
         prefs.put("profile.password_manager_enabled", false);
         options.setExperimentalOption("prefs", prefs);
 
-     
+        options.setPageLoadStrategy(LeanPageLoad.getPageLoadStrategy());
+
+        ChromeDriver driver;
+        if (SHARED_SERVICE) {
+            driver = new ChromeDriver(getSharedService(binary), options);
+        } else {
+            driver = new ChromeDriver(options);
+            processesSpawned.incrementAndGet();
+        }
+
+        // Blokir gambar, font, dan script pihak ketiga jika LEAN_PAGE_LOAD=true
+        if (LeanPageLoad.ENABLED) {
+            LeanPageLoad.install(driver);
+        }
+
+        sessionsCreated.incrementAndGet();
+        totalCreateNanos.addAndGet(System.nanoTime() - start);
+        return driver;
+    }
+
+    /**
+     * Me-resolve binary chromedriver sekali per JVM.
+     * <ol>
+     *   <li>Gunakan <code>CHROMEDRIVER_PATH</code> jika diisi (tanpa akses jaringan).</li>
+     *   <li>Jika belum, jalankan <code>WebDriverManager.chromedriver().setup()</code> lalu simpan path-nya.</li>
+     *   <li>Jika setup gagal, gunakan path terakhir yang tersimpan di cache.</li>
+     * </ol>
+     *
+     * @return path absolut binary chromedriver
+     */
+    private static synchronized String resolveDriverBinary() {
+        if (driverBinaryPath != null) {
+            return driverBinaryPath;
+        }
+
+        String configured = System.getProperty("CHROMEDRIVER_PATH");
+        if (configured != null && new File(configured).canExecute()) {
+            driverBinaryPath = configured;
+        } else {
+            WebDriverManager wdm = WebDriverManager.chromedriver();
+            Path cacheFile = Paths.get(wdm.config().getCachePath(), RESOLVED_PATH_FILE);
+            try {
+                wdm.setup();
+                driverBinaryPath = wdm.getDownloadedDriverPath();
+                Files.createDirectories(cacheFile.getParent());
+                Files.write(cacheFile, driverBinaryPath.getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                driverBinaryPath = readCachedPath(cacheFile);
+                if (driverBinaryPath == null) {
+                    throw new IllegalStateException("Gagal resolve chromedriver dan tidak ada path di cache", e);
+                }
+                System.out.println("[WARNING] Resolusi chromedriver gagal (" + e.getMessage()
+                        + "), memakai binary dari cache: " + driverBinaryPath);
+            }
+        }
+
+        System.setProperty(ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY, driverBinaryPath);
+        return driverBinaryPath;
+    }
+
+    private static String readCachedPath(Path cacheFile) {
+        try {
+            if (Files.exists(cacheFile)) {
+                String cached = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8).trim();
+                if (new File(cached).canExecute()) {
+                    return cached;
+                }
+            }
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
 
-        return new ChromeDriver(options);
+    private static synchronized ChromeDriverService getSharedService(String binary) {
+        if (sharedService == null) {
+            try {
+                int port = PortProber.findFreePort();
+                sharedService = new SharedChromeDriverService(new File(binary), port);
+                sharedService.start();
+                processesSpawned.incrementAndGet();
+                Runtime.getRuntime().addShutdownHook(
+                        new Thread(sharedService::shutdown, "chromedriver-service-shutdown"));
+                System.out.println("Shared ChromeDriverService started at " + sharedService.getUrl());
+            } catch (IOException e) {
+                throw new IllegalStateException("Gagal menjalankan shared ChromeDriverService", e);
+            }
+        }
+        return sharedService;
+    }
+
+    public static int getSessionsCreated() {
+        return sessionsCreated.get();
+    }
+
+    /**
+     * Ringkasan statistik pembuatan session Chrome untuk report / console.
+     *
+     * @return teks statistik (mode, jumlah proses chromedriver, latensi rata-rata)
+     */
+    public static String getStats() {
+        int sessions = sessionsCreated.get();
+        long avgMs = sessions == 0 ? 0 : totalCreateNanos.get() / sessions / 1_000_000;
+        return "mode=" + (SHARED_SERVICE ? "shared-service" : "service-per-session")
+                + ", sessions=" + sessions
+                + ", chromedriverProcesses=" + processesSpawned.get()
+                + ", avgSessionCreate=" + avgMs + "ms";
+    }
+
+    /**
+     * ChromeDriverService yang tidak ikut berhenti saat salah satu session di-quit.
+     * <p>
+     * Secara default Selenium menghentikan service ketika command QUIT dikirim;
+     * di sini {@link #stop()} diabaikan dan service baru benar-benar dihentikan
+     * lewat {@link #shutdown()} saat JVM selesai.
+     * </p>
+     */
+    private static class SharedChromeDriverService extends ChromeDriverService {
+
+        SharedChromeDriverService(File executable, int port) throws IOException {
+            super(executable, port, Duration.ofSeconds(20), List.of("--port=" + port), Map.of());
+        }
+
+        @Override
+        public void stop() {
+            // Service dipakai bersama, jangan dihentikan ketika satu session quit
+        }
+
+        void shutdown() {
+            super.stop();
+        }
     }
 }
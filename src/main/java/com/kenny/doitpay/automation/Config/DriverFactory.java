@@ -1,8 +1,22 @@
 package com.kenny.doitpay.automation.Config;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.openqa.selenium.WebDriver;
 
 public interface DriverFactory {
 
 	 WebDriver createDriver();
+
+	 /**
+	  * Membuat driver secara asynchronous di executor yang diberikan, sehingga
+	  * launch browser bisa berjalan paralel dengan setup test lainnya.
+	  *
+	  * @param executor executor tempat browser di-launch
+	  * @return future yang selesai ketika session browser siap dipakai
+	  */
+	 default CompletableFuture<WebDriver> createDriverAsync(Executor executor) {
+		 return CompletableFuture.supplyAsync(this::createDriver, executor);
+	 }
 }
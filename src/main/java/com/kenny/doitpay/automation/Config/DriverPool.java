@@ -0,0 +1,293 @@
+package com.kenny.doitpay.automation.Config;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * <h1>DriverPool</h1>
+ * Pool session browser yang sudah "hangat" agar setiap test / baris DataProvider
+ * tidak perlu menunggu Chrome di-launch ulang.
+ *
+ * <p>
+ * Session dipinjam lewat {@link #checkout(DriverFactory)} dan dikembalikan lewat
+ * {@link #release(WebDriver)}. Saat dikembalikan, session di-reset (cookies,
+ * localStorage, sessionStorage, lalu navigasi ke <code>about:blank</code>) dan
+ * di-recycle (quit) setelah dipakai sebanyak {@link #MAX_USES} kali.
+ * </p>
+ *
+ * <p>
+ * Session juga bisa di-launch lebih awal secara asynchronous lewat
+ * {@link #prewarm(DriverFactory, int)} (dipanggil oleh
+ * {@link com.kenny.doitpay.automation.Listeners.DriverPrewarmListener} di awal suite).
+ * Session yang di-recycle langsung diganti di background agar test berikutnya
+ * tidak menunggu cold start.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>DRIVER_POOL</code> — <code>true</code> untuk mengaktifkan mode pool (default <code>false</code>)</li>
+ *   <li><code>DRIVER_POOL_SIZE</code> — jumlah maksimum session idle di pool (default 2)</li>
+ *   <li><code>DRIVER_POOL_MAX_USES</code> — jumlah pemakaian sebelum session di-recycle (default 20)</li>
+ *   <li><code>DRIVER_PREWARM</code> — jumlah session yang di-launch di awal suite
+ *       (default {@link #MAX_SIZE} jika pool aktif, selain itu 0)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class DriverPool {
+
+    /** Mode pool aktif atau tidak */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("DRIVER_POOL", "false"));
+
+    /** Jumlah maksimum session idle yang disimpan */
+    public static final int MAX_SIZE = Integer.getInteger("DRIVER_POOL_SIZE", 2);
+
+    /** Jumlah pemakaian maksimum per session sebelum di-quit */
+    public static final int MAX_USES = Integer.getInteger("DRIVER_POOL_MAX_USES", 20);
+
+    /** Jumlah session yang di-launch di background saat suite dimulai */
+    public static final int PREWARM_COUNT = Integer.getInteger("DRIVER_PREWARM", ENABLED ? MAX_SIZE : 0);
+
+    /** Total waktu startup browser untuk setiap miss, dipakai menghitung estimasi waktu yang dihemat */
+    private static final AtomicLong totalStartupNanos = new AtomicLong();
+
+    private static final LinkedBlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private static final ConcurrentLinkedQueue<CompletableFuture<WebDriver>> warming = new ConcurrentLinkedQueue<>();
+    private static final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+
+    /** Executor daemon untuk launch browser di background */
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "driver-prewarm");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Factory terakhir yang dipakai, untuk mengganti session yang di-recycle */
+    private static volatile DriverFactory lastFactory;
+
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger recycled = new AtomicInteger();
+    private static final AtomicInteger warmHits = new AtomicInteger();
+    private static final AtomicLong totalWarmWaitNanos = new AtomicLong();
+    private static final AtomicLong totalResetNanos = new AtomicLong();
+    private static final AtomicInteger resets = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    /**
+     * Me-launch sejumlah session di background menggunakan
+     * {@link DriverFactory#createDriverAsync(java.util.concurrent.Executor)}.
+     * Session yang sudah siap akan dipakai lebih dulu oleh {@link #checkout(DriverFactory)}.
+     *
+     * @param factory factory untuk membuat driver
+     * @param count   jumlah session yang di-launch
+     */
+    public static void prewarm(DriverFactory factory, int count) {
+        lastFactory = factory;
+        for (int i = 0; i < count; i++) {
+            launchAsync(factory);
+        }
+        System.out.println("Pre-warming " + count + " browser session(s) in background...");
+    }
+
+    private static void launchAsync(DriverFactory factory) {
+        long start = System.nanoTime();
+        warming.add(factory.createDriverAsync(launcher).whenComplete((created, error) -> {
+            if (error == null) {
+                totalStartupNanos.addAndGet(System.nanoTime() - start);
+            } else {
+                System.out.println("[WARNING] Gagal pre-warm browser session: " + error.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * @return true jika masih ada session idle atau session yang sedang di-launch di background
+     */
+    public static boolean hasWarmSessions() {
+        return !idle.isEmpty() || !warming.isEmpty();
+    }
+
+    /**
+     * Meminjam session dari pool. Urutan prioritas: session idle, session hasil
+     * pre-warm (ditunggu jika belum selesai launch), lalu membuat session baru
+     * menggunakan factory yang diberikan (dihitung sebagai <i>miss</i>).
+     *
+     * @param factory factory untuk membuat driver baru jika pool kosong
+     * @return WebDriver siap pakai
+     */
+    public static WebDriver checkout(DriverFactory factory) {
+        lastFactory = factory;
+
+        WebDriver pooled = idle.pollFirst();
+        if (pooled != null) {
+            hits.incrementAndGet();
+            useCounts.merge(pooled, 1, Integer::sum);
+            return pooled;
+        }
+
+        CompletableFuture<WebDriver> pending;
+        while ((pending = warming.poll()) != null) {
+            long waitStart = System.nanoTime();
+            try {
+                WebDriver warm = pending.join();
+                totalWarmWaitNanos.addAndGet(System.nanoTime() - waitStart);
+                warmHits.incrementAndGet();
+                useCounts.put(warm, 1);
+                return warm;
+            } catch (Exception e) {
+                // Launch di background gagal, coba session berikutnya atau buat baru
+            }
+        }
+
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        WebDriver created = factory.createDriver();
+        totalStartupNanos.addAndGet(System.nanoTime() - start);
+        useCounts.put(created, 1);
+        return created;
+    }
+
+    /**
+     * Mengembalikan session ke pool. Session di-reset terlebih dahulu; jika reset gagal,
+     * pool sudah penuh, atau jumlah pemakaian sudah mencapai {@link #MAX_USES},
+     * session akan di-quit.
+     *
+     * @param driver session yang dikembalikan
+     */
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        int uses = useCounts.getOrDefault(driver, MAX_USES);
+        if (uses >= MAX_USES || idle.size() >= MAX_SIZE || !reset(driver)) {
+            recycled.incrementAndGet();
+            discard(driver);
+            if (lastFactory != null && idle.size() + warming.size() < MAX_SIZE) {
+                launchAsync(lastFactory);
+            }
+            return;
+        }
+
+        idle.offerLast(driver);
+    }
+
+    /**
+     * Membersihkan state session: cookies, localStorage, sessionStorage,
+     * lalu navigasi ke <code>about:blank</code>.
+     *
+     * @param driver session yang akan di-reset
+     * @return true jika reset berhasil dan session layak dipakai ulang
+     */
+    private static boolean reset(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            driver.manage().deleteAllCookies();
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}"
+                        + "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                // Halaman tanpa origin (misalnya about:blank) tidak punya storage
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal reset session pool, session akan di-quit: " + e.getMessage());
+            return false;
+        } finally {
+            totalResetNanos.addAndGet(System.nanoTime() - start);
+            resets.incrementAndGet();
+        }
+    }
+
+    private static void discard(WebDriver driver) {
+        useCounts.remove(driver);
+        LeanPageLoad.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Warning during pooled driver quit: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Menutup semua session idle di pool. Dipanggil otomatis oleh shutdown hook JVM.
+     */
+    public static void shutdown() {
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            discard(driver);
+        }
+
+        CompletableFuture<WebDriver> pending;
+        while ((pending = warming.poll()) != null) {
+            try {
+                discard(pending.get(30, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                // Session gagal di-launch, tidak ada yang perlu ditutup
+            }
+        }
+        launcher.shutdown();
+    }
+
+    /**
+     * Ringkasan statistik pool untuk ditampilkan di report / console.
+     *
+     * @return teks statistik pool
+     */
+    public static String getStats() {
+        int missCount = misses.get();
+        int launched = missCount + warmHits.get();
+        long avgStartupMs = launched == 0 ? 0 : totalStartupNanos.get() / launched / 1_000_000;
+        long avgWarmWaitMs = warmHits.get() == 0 ? 0 : totalWarmWaitNanos.get() / warmHits.get() / 1_000_000;
+        long avgResetMs = resets.get() == 0 ? 0 : totalResetNanos.get() / resets.get() / 1_000_000;
+        long savedMs = Math.max(0, hits.get() * (avgStartupMs - avgResetMs))
+                + Math.max(0, warmHits.get() * (avgStartupMs - avgWarmWaitMs));
+
+        return "size=" + idle.size() + "/" + MAX_SIZE
+                + ", hits=" + hits.get()
+                + ", warmHits=" + warmHits.get()
+                + ", avgWarmWait=" + avgWarmWaitMs + "ms"
+                + ", misses=" + missCount
+                + ", recycled=" + recycled.get()
+                + ", avgStartup=" + avgStartupMs + "ms"
+                + ", avgReset=" + avgResetMs + "ms"
+                + ", estimatedSaved=" + savedMs + "ms";
+    }
+
+    public static int getHits() {
+        return hits.get();
+    }
+
+    public static int getMisses() {
+        return misses.get();
+    }
+
+    public static int getIdleSize() {
+        return idle.size();
+    }
+
+    public static long getTotalResetMillis() {
+        return totalResetNanos.get() / 1_000_000;
+    }
+}
@@ -0,0 +1,234 @@
+package com.kenny.doitpay.automation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * <h1>LeanPageLoad</h1>
+ * Mode "lean page load" untuk Chrome: memblokir resource yang tidak dibutuhkan test
+ * berbasis DOM/teks (gambar, font, script pihak ketiga) menggunakan network
+ * interception dari Chrome DevTools Protocol.
+ *
+ * <p>
+ * Semua command/event CDP dikirim secara generik (tanpa package
+ * <code>devtools.vXXX</code>) sehingga tidak terikat ke versi Chrome tertentu.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>LEAN_PAGE_LOAD</code> — <code>true</code> untuk mengaktifkan mode ini (default <code>false</code>)</li>
+ *   <li><code>BLOCKED_RESOURCE_TYPES</code> — tipe resource CDP yang diblokir, pisahkan dengan koma
+ *       (default <code>Image,Font,Media</code>)</li>
+ *   <li><code>BLOCKED_URL_PATTERNS</code> — pola URL (wildcard <code>*</code>) yang diblokir</li>
+ *   <li><code>PAGE_LOAD_STRATEGY</code> — <code>normal</code> / <code>eager</code> / <code>none</code>
+ *       (default <code>eager</code> jika mode aktif, selain itu <code>normal</code>)</li>
+ *   <li><code>PAGE_READY_STATE</code> — <code>document.readyState</code> minimum yang ditunggu
+ *       readiness probe (default <code>interactive</code>)</li>
+ * </ul>
+ *
+ * <p>
+ * Test class yang butuh tampilan lengkap (misalnya visual check) bisa opt-out
+ * dengan meng-override <code>BaseTest.useLeanPageLoad()</code>.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class LeanPageLoad {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("LEAN_PAGE_LOAD", "false"));
+
+    public static final String PAGE_LOAD_STRATEGY =
+            System.getProperty("PAGE_LOAD_STRATEGY", ENABLED ? "eager" : "normal");
+
+    public static final String READY_STATE = System.getProperty("PAGE_READY_STATE", "interactive");
+
+    private static final List<String> BLOCKED_RESOURCE_TYPES =
+            split(System.getProperty("BLOCKED_RESOURCE_TYPES", "Image,Font,Media"));
+
+    private static final List<String> BLOCKED_URL_PATTERNS = split(System.getProperty("BLOCKED_URL_PATTERNS",
+            "*google-analytics.com*,*googletagmanager.com*,*backtrace.io*"));
+
+    /** Timeout readiness probe */
+    private static final int READY_TIMEOUT = 30;
+
+    private static final Map<WebDriver, LeanPageLoad> sessions = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private volatile boolean active;
+
+    private final AtomicInteger blockedRequests = new AtomicInteger();
+    private final Map<String, AtomicInteger> blockedByType = new ConcurrentHashMap<>();
+    private final AtomicInteger loadedRequests = new AtomicInteger();
+    private final AtomicLong loadedBytes = new AtomicLong();
+
+    private LeanPageLoad(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * @return page load strategy Selenium sesuai konfigurasi <code>PAGE_LOAD_STRATEGY</code>
+     */
+    public static PageLoadStrategy getPageLoadStrategy() {
+        return PageLoadStrategy.fromString(PAGE_LOAD_STRATEGY.toLowerCase());
+    }
+
+    /**
+     * Memasang network interception pada session Chrome yang baru dibuat.
+     * Jika CDP tidak tersedia, session tetap dipakai tanpa blocking.
+     *
+     * @param driver session Chrome
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+
+            LeanPageLoad lean = new LeanPageLoad(devTools);
+            lean.registerListeners();
+            lean.apply(true);
+            sessions.put(driver, lean);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Lean page load tidak bisa dipasang: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mengaktifkan / menonaktifkan blocking untuk session ini (dipakai untuk opt-out per test class).
+     *
+     * @param driver session Chrome
+     * @param active true untuk memblokir resource
+     */
+    public static void setActive(WebDriver driver, boolean active) {
+        LeanPageLoad lean = sessions.get(driver);
+        if (lean != null && lean.active != active) {
+            lean.apply(active);
+        }
+    }
+
+    /**
+     * Readiness probe: menunggu <code>document.readyState</code> mencapai {@link #READY_STATE}.
+     * Berguna saat <code>PAGE_LOAD_STRATEGY</code> = eager/none, di mana
+     * <code>driver.get()</code> kembali sebelum halaman selesai dimuat.
+     *
+     * @param driver WebDriver aktif
+     */
+    public static void awaitReady(WebDriver driver) {
+        if ("normal".equalsIgnoreCase(PAGE_LOAD_STRATEGY)) {
+            return;
+        }
+        String script = "complete".equalsIgnoreCase(READY_STATE)
+                ? "return document.readyState === 'complete';"
+                : "return document.readyState !== 'loading';";
+        new WebDriverWait(driver, Duration.ofSeconds(READY_TIMEOUT))
+                .pollingEvery(Duration.ofMillis(50))
+                .until(d -> (Boolean) ((JavascriptExecutor) d).executeScript(script));
+    }
+
+    /**
+     * Mengambil lalu me-reset statistik blocking untuk session ini.
+     *
+     * @param driver session Chrome
+     * @return ringkasan statistik, atau null jika mode tidak aktif pada session ini
+     */
+    public static String drainStats(WebDriver driver) {
+        LeanPageLoad lean = sessions.get(driver);
+        if (lean == null) {
+            return null;
+        }
+
+        String byType = lean.blockedByType.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().getAndSet(0))
+                .collect(Collectors.joining(", "));
+        String stats = "Blocked requests: " + lean.blockedRequests.getAndSet(0)
+                + (byType.isEmpty() ? "" : " (" + byType + ")")
+                + " | Loaded requests: " + lean.loadedRequests.getAndSet(0)
+                + ", transferred: " + (lean.loadedBytes.getAndSet(0) / 1024) + " KB";
+        return lean.active ? stats : stats + " [lean page load nonaktif untuk test ini]";
+    }
+
+    /**
+     * Melepas session dari registry (dipanggil sebelum driver di-quit).
+     *
+     * @param driver session Chrome
+     */
+    public static void remove(WebDriver driver) {
+        sessions.remove(driver);
+    }
+
+    private void registerListeners() {
+        devTools.addListener(new Event<>("Fetch.requestPaused", input -> input.<Map<String, Object>>read(Map.class)),
+                event -> {
+                    String type = String.valueOf(event.get("resourceType"));
+                    blockedRequests.incrementAndGet();
+                    blockedByType.computeIfAbsent(type, k -> new AtomicInteger()).incrementAndGet();
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("requestId", event.get("requestId"));
+                    params.put("errorReason", "BlockedByClient");
+                    devTools.send(new Command<>("Fetch.failRequest", params));
+                });
+
+        devTools.addListener(new Event<>("Network.loadingFailed", input -> input.<Map<String, Object>>read(Map.class)),
+                event -> {
+                    // Request yang diblokir lewat setBlockedURLs (bukan lewat Fetch)
+                    if (event.get("blockedReason") != null) {
+                        blockedRequests.incrementAndGet();
+                        blockedByType.computeIfAbsent("UrlPattern", k -> new AtomicInteger()).incrementAndGet();
+                    }
+                });
+
+        devTools.addListener(new Event<>("Network.loadingFinished", input -> input.<Map<String, Object>>read(Map.class)),
+                event -> {
+                    loadedRequests.incrementAndGet();
+                    Object length = event.get("encodedDataLength");
+                    if (length instanceof Number) {
+                        loadedBytes.addAndGet(((Number) length).longValue());
+                    }
+                });
+    }
+
+    private void apply(boolean enable) {
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        devTools.send(new Command<>("Network.setBlockedURLs",
+                Map.of("urls", enable ? BLOCKED_URL_PATTERNS : Collections.emptyList())));
+
+        if (enable && !BLOCKED_RESOURCE_TYPES.isEmpty()) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : BLOCKED_RESOURCE_TYPES) {
+                patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+            }
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        } else {
+            devTools.send(new Command<>("Fetch.disable", Collections.emptyMap()));
+        }
+        active = enable;
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -2,29 +2,58 @@ package com.kenny.doitpay.automation.Config;
 
 import org.openqa.selenium.WebDriver;
 
+import com.kenny.doitpay.automation.Listeners.TimeBreakdown;
+
 
 
 public class WebDriverManager {
-	
+
 	private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
-	   
-	   // Inisialisasi driver baru
+
+	// Session asli (tanpa decorator), dipakai DriverPool, LeanPageLoad, dan quit
+	private static ThreadLocal<WebDriver> rawDriver = new ThreadLocal<>();
+
+	   // Inisialisasi driver baru (atau pinjam dari DriverPool jika DRIVER_POOL=true / ada session pre-warm)
 	    public static void initDriver(DriverFactory factory) {
 	    	if (driver.get() == null) {
-	            driver.set(factory.createDriver());
+	    		WebDriver session;
+	    		TimeBreakdown.begin(TimeBreakdown.Category.STARTUP);
+	    		try {
+	    			if (DriverPool.ENABLED || DriverPool.hasWarmSessions()) {
+	    				session = DriverPool.checkout(factory);
+	    			} else {
+	    				session = factory.createDriver();
+	    			}
+	    		} finally {
+	    			TimeBreakdown.end();
+	    		}
+	    		rawDriver.set(session);
+	    		driver.set(WireCommandCounter.decorate(session));
 	        }
 	    }
-	    
+
 	    // Ambil driver yang aktif
 	    public static WebDriver getDriver() {
 	        return driver.get();
 	    }
 
-	    // Tutup driver
+	    // Ambil session asli tanpa decorator WireCommandCounter
+	    public static WebDriver getRawDriver() {
+	        return rawDriver.get();
+	    }
+
+	    // Tutup driver (atau kembalikan ke DriverPool jika DRIVER_POOL=true)
 	    public static void quitDriver() {
 	        if (driver.get() != null) {
-	            driver.get().quit();
+	        	WebDriver session = rawDriver.get();
+	        	if (DriverPool.ENABLED) {
+	        		DriverPool.release(session);
+	        	} else {
+	        		LeanPageLoad.remove(session);
+	        		session.quit();
+	        	}
 	            driver.remove();
+	            rawDriver.remove();
 	        }
 	    }
 }
@@ -0,0 +1,167 @@
+package com.kenny.doitpay.automation.Config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.kenny.doitpay.automation.Listeners.CommandTracer;
+import com.kenny.doitpay.automation.Listeners.ExecutionLog;
+import com.kenny.doitpay.automation.Listeners.PageMetrics;
+import com.kenny.doitpay.automation.Listeners.TimeBreakdown;
+
+/**
+ * <h1>WireCommandCounter</h1>
+ * Menghitung jumlah command WebDriver (round trip HTTP ke driver) yang dikirim
+ * oleh thread saat ini, menggunakan {@link EventFiringDecorator} di atas session asli.
+ *
+ * <p>
+ * Dipakai oleh {@link com.kenny.doitpay.automation.Helper.CustomCommand} untuk melaporkan
+ * jumlah command per pemanggilan (misalnya <code>sendKeysWhenReady</code>), sehingga
+ * pengurangan round trip bisa dipantau dari run ke run.
+ * </p>
+ *
+ * <p>
+ * Decorator yang sama juga mencatat durasi setiap command ke {@link ExecutionLog}
+ * (event <code>cmd</code>) dan sebagai span di {@link CommandTracer}, sehingga decorator
+ * tetap dipasang jika salah satu fitur aktif. Waktu command juga masuk ke {@link TimeBreakdown}
+ * (navigasi dipisah dari command lain), dan setiap navigasi memicu {@link PageMetrics}.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>WIRE_COMMAND_STATS</code> — <code>false</code> untuk menonaktifkan decorator (default <code>true</code>)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class WireCommandCounter implements WebDriverListener {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("WIRE_COMMAND_STATS", "true"));
+
+    /** Method proxy yang tidak mengirim command ke driver */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getDevTools", "getCapabilities", "getId",
+            "toString", "hashCode", "equals");
+
+    private static final ThreadLocal<AtomicLong> commands = ThreadLocal.withInitial(AtomicLong::new);
+
+    /** Waktu mulai command yang sedang berjalan di thread ini */
+    private static final ThreadLocal<long[]> commandStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    /** Command navigasi (WebDriver.get dan Navigation.*) untuk {@link TimeBreakdown} */
+    private static final Set<String> NAVIGATION_METHODS = Set.of("get", "to", "back", "forward", "refresh");
+
+    private WireCommandCounter() {
+    }
+
+    /**
+     * Membungkus session asli agar setiap command yang dikirim ikut dihitung.
+     *
+     * @param driver session asli
+     * @return driver ter-decorate, atau driver asli jika semua fitur dinonaktifkan
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!ENABLED && !ExecutionLog.ENABLED && !CommandTracer.ENABLED && !TimeBreakdown.ENABLED
+                && !PageMetrics.ENABLED) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new WireCommandCounter()).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            commands.get().incrementAndGet();
+            TimeBreakdown.begin(NAVIGATION_METHODS.contains(method.getName())
+                    ? TimeBreakdown.Category.NAVIGATION : TimeBreakdown.Category.COMMAND);
+            commandStart.get()[0] = ExecutionLog.now();
+            String locator = args != null && args.length > 0 && args[0] instanceof By ? args[0].toString() : null;
+            CommandTracer.startCommand(method.getName(), method.getDeclaringClass().getSimpleName(), locator);
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isCommand(method)) {
+            ExecutionLog.end("cmd", method.getName(), commandStart.get()[0], "ok");
+            CommandTracer.endCommand(null);
+            TimeBreakdown.end();
+            if (NAVIGATION_METHODS.contains(method.getName())) {
+                PageMetrics.collect();
+            }
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isCommand(method)) {
+            ExecutionLog.end("cmd", method.getName(), commandStart.get()[0], "error");
+            CommandTracer.endCommand(String.valueOf(e.getTargetException()));
+            TimeBreakdown.end();
+        }
+    }
+
+    private static boolean isCommand(Method method) {
+        return method.getDeclaringClass() != Object.class && !LOCAL_METHODS.contains(method.getName());
+    }
+
+    /**
+     * @return total command yang sudah dikirim oleh thread saat ini
+     */
+    public static long current() {
+        return commands.get().get();
+    }
+
+    /**
+     * Mencatat jumlah command untuk satu pemanggilan operasi.
+     *
+     * @param operation nama operasi, misalnya <code>sendKeysWhenReady</code>
+     * @param count     jumlah command selama operasi berjalan
+     */
+    public static void record(String operation, long count) {
+        OperationStats s = stats.computeIfAbsent(operation, k -> new OperationStats());
+        s.calls.increment();
+        s.commands.add(count);
+        s.max.accumulateAndGet(count, Math::max);
+    }
+
+    /**
+     * Ringkasan per operasi, diurutkan berdasarkan nama operasi.
+     *
+     * @return map nama operasi → teks ringkasan
+     */
+    public static Map<String, String> getSummary() {
+        Map<String, String> summary = new TreeMap<>();
+        stats.forEach((operation, s) -> summary.put(operation, s.describe()));
+        return summary;
+    }
+
+    private static class OperationStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder commands = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        String describe() {
+            long callCount = calls.sum();
+            double avg = callCount == 0 ? 0 : (double) commands.sum() / callCount;
+            return "calls=" + callCount
+                    + ", commands=" + commands.sum()
+                    + ", avg=" + String.format("%.1f", avg)
+                    + ", max=" + max.get();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.kenny.doitpay.automation.Helper;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.kenny.doitpay.automation.Config.WebDriverManager;
+import com.kenny.doitpay.automation.Listeners.LogHelper;
+
+/**
+ * <h1>BrowserCheckpoint</h1>
+ * Menyimpan state browser (cookies, localStorage, sessionStorage, URL) setelah
+ * sebuah fixture bernama dijalankan sekali, lalu me-restore state tersebut ke
+ * session lain (baru maupun dari pool) tanpa mengulang langkah UI.
+ *
+ * <p><b>Contoh Penggunaan:</b></p>
+ * <pre>
+ * BrowserCheckpoint.startFrom("logged-in-standard_user",
+ *         () -&gt; login.loginWithHardcodedCredentials("standard_user", true));
+ * </pre>
+ *
+ * <p>
+ * Pemanggilan pertama menjalankan fixture melalui UI lalu menyimpan checkpoint;
+ * pemanggilan berikutnya dalam run yang sama hanya me-restore state.
+ * Checkpoint berlaku selama JVM berjalan. Set <code>-DCHECKPOINTS=false</code> untuk
+ * selalu menjalankan fixture melalui UI.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class BrowserCheckpoint {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("CHECKPOINTS", "true"));
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }"
+            + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "window.localStorage.clear(); window.sessionStorage.clear();"
+            + "var l = arguments[0], s = arguments[1];"
+            + "for (var k in l) { window.localStorage.setItem(k, l[k]); }"
+            + "for (var k in s) { window.sessionStorage.setItem(k, s[k]); }";
+
+    private static final String LOGIN_FORM_ABSENT_SCRIPT =
+            "return document.querySelector(\"input[type='password']\") === null;";
+
+    private static final Map<String, Snapshot> checkpoints = new ConcurrentHashMap<>();
+
+    private BrowserCheckpoint() {
+    }
+
+    /**
+     * Memulai test dari checkpoint bernama. Jika checkpoint belum ada, fixture
+     * dijalankan melalui UI lalu state-nya disimpan.
+     *
+     * @param name    nama checkpoint, misalnya <code>logged-in-standard_user</code>
+     * @param fixture langkah UI yang menghasilkan state checkpoint
+     */
+    public static void startFrom(String name, Runnable fixture) {
+        if (ENABLED && restore(name)) {
+            return;
+        }
+        fixture.run();
+        if (ENABLED) {
+            capture(name);
+        }
+    }
+
+    /**
+     * Menyimpan state browser saat ini sebagai checkpoint.
+     *
+     * @param name nama checkpoint
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(String name) {
+        WebDriver driver = WebDriverManager.getDriver();
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_STORAGE_SCRIPT);
+
+        Snapshot snapshot = new Snapshot(
+                driver.getCurrentUrl(),
+                new HashSet<>(driver.manage().getCookies()),
+                toStringMap(storage.get("local")),
+                toStringMap(storage.get("session")));
+        checkpoints.put(name, snapshot);
+        System.out.println("Checkpoint '" + name + "' disimpan (" + snapshot.url + ")");
+    }
+
+    /**
+     * Me-restore checkpoint ke session aktif. Checkpoint yang tidak berlaku lagi setelah
+     * di-restore (URL berbeda atau form login tampil) dihapus, sehingga
+     * {@link #startFrom(String, Runnable)} menjalankan fixture via UI dan menyimpan checkpoint baru.
+     *
+     * @param name nama checkpoint
+     * @return true jika checkpoint tersedia dan berhasil di-restore
+     */
+    public static boolean restore(String name) {
+        Snapshot snapshot = checkpoints.get(name);
+        if (snapshot == null) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        WebDriver driver = WebDriverManager.getDriver();
+        try {
+            // Cookie dan storage hanya bisa di-set dari origin yang sama
+            if (!sameOrigin(driver.getCurrentUrl(), snapshot.url)) {
+                driver.get(origin(snapshot.url));
+            }
+
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : snapshot.cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                    snapshot.localStorage, snapshot.sessionStorage);
+            driver.get(snapshot.url);
+            if (!isRestored(driver, snapshot)) {
+                // Misalnya cookie session sudah kedaluwarsa dan aplikasi kembali ke halaman login
+                checkpoints.remove(name, snapshot);
+                System.out.println("[WARNING] Checkpoint '" + name + "' tidak berlaku lagi (halaman: "
+                        + driver.getCurrentUrl() + "), menjalankan fixture via UI");
+                return false;
+            }
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal restore checkpoint '" + name + "', menjalankan fixture via UI: "
+                    + e.getMessage());
+            return false;
+        }
+
+        LogHelper.step("Mulai dari checkpoint: " + name);
+        LogHelper.detail("Checkpoint '" + name + "' di-restore dalam "
+                + (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    /**
+     * @param name nama checkpoint
+     * @return true jika checkpoint sudah tersimpan
+     */
+    public static boolean exists(String name) {
+        return checkpoints.containsKey(name);
+    }
+
+    /**
+     * Menghapus semua checkpoint yang tersimpan.
+     */
+    public static void clear() {
+        checkpoints.clear();
+    }
+
+    /**
+     * State dianggap berlaku jika browser tetap berada di URL checkpoint dan tidak
+     * menampilkan form login.
+     */
+    private static boolean isRestored(WebDriver driver, Snapshot snapshot) {
+        return snapshot.url.equals(driver.getCurrentUrl())
+                && Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(LOGIN_FORM_ABSENT_SCRIPT));
+    }
+
+    private static boolean sameOrigin(String current, String target) {
+        try {
+            return origin(current).equals(origin(target));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority() + "/";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> toStringMap(Object value) {
+        if (!(value instanceof Map)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new HashMap<>();
+        ((Map<String, Object>) value).forEach((k, v) -> result.put(k, String.valueOf(v)));
+        return result;
+    }
+
+    /** State browser yang disimpan untuk satu checkpoint */
+    private static class Snapshot {
+        private final String url;
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+
+        Snapshot(String url, Set<Cookie> cookies, Map<String, String> localStorage,
+                Map<String, String> sessionStorage) {
+            this.url = url;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.kenny.doitpay.automation.Helper;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import com.kenny.doitpay.automation.Config.WebDriverManager;
+import com.kenny.doitpay.automation.Config.WireCommandCounter;
+import com.kenny.doitpay.automation.Listeners.TimeBreakdown;
 import java.util.function.Supplier;
 
 
@@ -15,11 +18,87 @@ import java.util.function.Supplier;
  * 
  * Semua method menggunakan instance driver tunggal dari WebDriverManager
  * untuk menghindari pembuatan WebDriver baru secara tidak sengaja.
+ * Explicit wait dijalankan lewat {@link WaitEngine} milik thread (polling backoff), atau
+ * lewat {@link DomWaits} (MutationObserver, satu round trip) jika <code>-DWAIT_MODE=observer</code>.
+ *
+ * Klik dan input teks mencoba jalur batch lebih dulu: satu executeScript yang mengecek
+ * actionability (terhubung, visible, enabled, di viewport, tidak tertutup) sekaligus
+ * melakukan aksinya. Jalur WebDriver biasa hanya dipakai jika elemen belum siap.
+ * Nonaktifkan dengan <code>-DBATCHED_ACTIONS=false</code>. Jumlah command WebDriver per
+ * pemanggilan dicatat lewat {@link WireCommandCounter}.
  */
 public class CustomCommand {
 
     /** Timeout default untuk explicit wait */
-    private static final int DEFAULT_TIMEOUT = 60;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    /** Timeout pendek untuk klik dan verifikasi elemen */
+    private static final Duration SHORT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Aktifkan cek actionability + aksi dalam satu executeScript */
+    private static final boolean BATCHED_ACTIONS = Boolean.parseBoolean(System.getProperty("BATCHED_ACTIONS", "true"));
+
+    /**
+     * Fungsi JS cek actionability: terhubung, visible, enabled, di viewport (di-scroll jika perlu),
+     * dan tidak tertutup elemen lain. Mengembalikan <code>ready</code> atau alasan elemen belum siap.
+     */
+    private static final String ACTIONABLE_FUNCTION =
+            DomWaits.VISIBLE_FUNCTION
+            + "function __actionable(el) {"
+            + "  if (!el || !el.isConnected) return 'detached';"
+            + "  if (!__visible(el)) return 'hidden';"
+            + "  if (el.disabled || el.getAttribute('aria-disabled') === 'true') return 'disabled';"
+            + "  var r = el.getBoundingClientRect();"
+            + "  if (r.top < 0 || r.left < 0 || r.bottom > window.innerHeight || r.right > window.innerWidth) {"
+            + "    el.scrollIntoView({behavior: 'instant', block: 'center', inline: 'center'});"
+            + "    r = el.getBoundingClientRect();"
+            + "  }"
+            + "  var hit = document.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);"
+            + "  if (!hit || (hit !== el && !el.contains(hit))) return 'obscured';"
+            + "  return 'ready';"
+            + "}"
+            + "function __typeable(el) {"
+            + "  if (!(el instanceof HTMLInputElement || el instanceof HTMLTextAreaElement)) return 'unsupported';"
+            + "  return el.readOnly ? 'readonly' : 'ready';"
+            + "}"
+            // Setter value native agar state React ikut ter-update, lalu event input/change
+            + "function __type(el, text) {"
+            + "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  el.focus();"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text);"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "}";
+
+    /**
+     * Cek actionability lalu lakukan aksi (click / type) dalam satu round trip.
+     * Mengembalikan <code>ok</code> jika aksi sudah dilakukan, selain itu alasan elemen belum siap.
+     */
+    private static final String ACTIONABLE_SCRIPT =
+            ACTIONABLE_FUNCTION
+            + "var el = arguments[0], action = arguments[1], text = arguments[2];"
+            + "var status = __actionable(el);"
+            + "if (status !== 'ready') return status;"
+            + "if (action === 'click') { el.click(); return 'ok'; }"
+            + "status = __typeable(el);"
+            + "if (status !== 'ready') return status;"
+            + "__type(el, text);"
+            + "return 'ok';";
+
+    /**
+     * Cek semua field form, lalu isi semuanya dalam satu round trip. Tidak ada field yang diisi
+     * jika salah satu belum siap; hasilnya <code>index:alasan</code>.
+     */
+    private static final String FILL_FORM_SCRIPT =
+            ACTIONABLE_FUNCTION
+            + "var els = arguments[0], values = arguments[1];"
+            + "for (var i = 0; i < els.length; i++) {"
+            + "  var status = __actionable(els[i]);"
+            + "  if (status === 'ready') status = __typeable(els[i]);"
+            + "  if (status !== 'ready') return i + ':' + status;"
+            + "}"
+            + "for (var i = 0; i < els.length; i++) { __type(els[i], values[i]); }"
+            + "return 'ok';";
 
     /**
      * Mengembalikan instance WebDriver yang aktif dengan validasi.
@@ -35,6 +114,57 @@ public class CustomCommand {
         return WebDriverManager.getDriver();
     }
 
+    /**
+     * Menjalankan wait berbasis observer jika <code>WAIT_MODE=observer</code>.
+     *
+     * @param conditionName nama kondisi untuk {@link WaitStats}
+     * @param observer      wait di sisi browser; mengembalikan null jika harus fallback ke polling
+     * @return true jika wait sudah ditangani observer, false jika pemanggil harus polling
+     * @throws TimeoutException jika observer melaporkan kondisi tidak terpenuhi sampai timeout
+     */
+    private static boolean awaitObserved(String conditionName, Supplier<Boolean> observer) {
+        if (!DomWaits.ENABLED) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Boolean result;
+        TimeBreakdown.begin(TimeBreakdown.Category.WAIT, conditionName);
+        try {
+            result = observer.get();
+        } finally {
+            TimeBreakdown.end();
+        }
+        if (result == null) {
+            return false;
+        }
+        WaitStats.record(conditionName, 1, System.nanoTime() - start, result);
+        if (!result) {
+            throw new TimeoutException("Expected condition failed: waiting for " + conditionName + " (observer)");
+        }
+        return true;
+    }
+
+    /**
+     * Menunggu elemen visible (observer atau polling).
+     */
+    private static void awaitVisible(WebElement element, Duration timeout) {
+        Duration effective = WaitEngine.timeoutFor("visible", timeout);
+        if (!awaitObserved("visible", () -> DomWaits.visible(getDriverSafe(), element, effective))) {
+            WaitEngine.get().until("visible", ExpectedConditions.visibilityOf(element), timeout);
+        }
+    }
+
+    /**
+     * Menunggu elemen visible dan enabled (observer atau polling).
+     */
+    private static WebElement awaitClickable(WebElement element, Duration timeout) {
+        Duration effective = WaitEngine.timeoutFor("clickable", timeout);
+        if (awaitObserved("clickable", () -> DomWaits.clickable(getDriverSafe(), element, effective))) {
+            return element;
+        }
+        return WaitEngine.get().until("clickable", ExpectedConditions.elementToBeClickable(element), timeout);
+    }
+
     /**
      * Mengisi teks ke dalam elemen setelah elemen siap diklik dan visible.
      * Jika nilai text adalah null, maka tidak mengisi apa pun dan hanya mencatat peringatan.
@@ -43,21 +173,100 @@ public class CustomCommand {
      * @param text    teks yang akan diinput (boleh null)
      */
     public void sendKeysWhenReady(WebElement element, String text) {
-        WebDriver driver = getDriverSafe();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        getDriverSafe();
+        long wireStart = WireCommandCounter.current();
+        try {
+            if (!"ok".equals(performBatched(element, "type", text == null ? "" : text))) {
+                awaitClickable(element, DEFAULT_TIMEOUT);
+                element.clear();
+                if (text != null) {
+                    element.sendKeys(text);
+                }
+            }
 
-        wait.until(ExpectedConditions.visibilityOf(element));
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+            if (text == null) {
+                System.out.println(" Nilai 'null' diterima untuk elemen: " + element + " — input dilewati.");
+                return;
+            }
+            System.out.println(" Input text: '" + text + "' pada elemen: " + element);
+        } finally {
+            reportWire("sendKeysWhenReady", wireStart);
+        }
+    }
 
-        element.clear();
 
-        if (text == null) {
-            System.out.println(" Nilai 'null' diterima untuk elemen: " + element + " — input dilewati.");
-            return; 
+    /**
+     * Mengisi beberapa field form sekaligus, sesuai urutan argumen.
+     * <p>
+     * Wait hanya dilakukan sekali (field pertama siap diklik), lalu semua field dicek dan diisi
+     * dalam satu executeScript dengan event <code>input</code>/<code>change</code> agar state
+     * React ikut ter-update. Jika ada field yang belum siap, pengisian kembali ke
+     * {@link #sendKeysWhenReady(WebElement, String)} per field.
+     * </p>
+     *
+     * <pre>
+     * utils.fillForm(CustomCommand.field(firstNameField, "Kenny"),
+     *         CustomCommand.field(lastNameField, "Ramadhan"));
+     * </pre>
+     *
+     * @param fields pasangan elemen → nilai (nilai null mengosongkan field)
+     */
+    public void fillForm(FormField... fields) {
+        getDriverSafe();
+        if (fields.length == 0) {
+            return;
         }
 
-        element.sendKeys(text);
-        System.out.println(" Input text: '" + text + "' pada elemen: " + element);
+        long wireStart = WireCommandCounter.current();
+        try {
+            if (BATCHED_ACTIONS) {
+                List<WebElement> elements = new ArrayList<>();
+                List<String> values = new ArrayList<>();
+                for (FormField field : fields) {
+                    elements.add(field.element);
+                    values.add(field.value == null ? "" : field.value);
+                }
+
+                awaitClickable(elements.get(0), DEFAULT_TIMEOUT);
+                String status = executeBatched(FILL_FORM_SCRIPT, "fillForm", elements, values);
+                if ("ok".equals(status)) {
+                    System.out.println(" Input form: " + fields.length + " field dalam satu batch");
+                    return;
+                }
+                System.out.println(" Batch fill belum bisa dipakai (" + status + "), mengisi per field");
+            }
+
+            for (FormField field : fields) {
+                sendKeysWhenReady(field.element, field.value);
+            }
+        } finally {
+            reportWire("fillForm", wireStart);
+        }
+    }
+
+    /**
+     * Membuat pasangan elemen → nilai untuk {@link #fillForm(FormField...)}.
+     *
+     * @param element field input
+     * @param value   nilai yang akan diisi
+     * @return pasangan field
+     */
+    public static FormField field(WebElement element, String value) {
+        return new FormField(element, value);
+    }
+
+    /**
+     * Pasangan elemen → nilai untuk {@link #fillForm(FormField...)}.
+     * Bukan {@link Map} karena hashCode() elemen PageFactory memicu pencarian elemen ke browser.
+     */
+    public static final class FormField {
+        private final WebElement element;
+        private final String value;
+
+        private FormField(WebElement element, String value) {
+            this.element = element;
+            this.value = value;
+        }
     }
 
 
@@ -68,20 +277,66 @@ public class CustomCommand {
      * @param element WebElement target
      */
     public void clickWhenReady(WebElement element) {
-        WebDriverWait wait = new WebDriverWait(WebDriverManager.getDriver(), Duration.ofSeconds(10));
-        int attempts = 0;
-
-        while (attempts < 2) {
-            try {
-                wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+        long wireStart = WireCommandCounter.current();
+        try {
+            if ("ok".equals(performBatched(element, "click", null))) {
                 return;
-            } catch (StaleElementReferenceException e) {
-              System.out.println("Elemen stale saat klik, mencoba ulang...");
-                attempts++;
             }
+
+            int attempts = 0;
+            while (attempts < 2) {
+                try {
+                    awaitClickable(element, SHORT_TIMEOUT).click();
+                    return;
+                } catch (StaleElementReferenceException e) {
+                  System.out.println("Elemen stale saat klik, mencoba ulang...");
+                    attempts++;
+                }
+            }
+
+            throw new RuntimeException("Gagal klik elemen setelah beberapa percobaan.");
+        } finally {
+            reportWire("clickWhenReady", wireStart);
+        }
+    }
+
+    /**
+     * Menjalankan {@link #ACTIONABLE_SCRIPT}: cek actionability dan lakukan aksi dalam satu round trip.
+     *
+     * @param element WebElement target
+     * @param action  <code>click</code> atau <code>type</code>
+     * @param text    teks untuk aksi <code>type</code>
+     * @return <code>ok</code> jika aksi sudah dilakukan, selain itu status elemen (atau null jika gagal dievaluasi)
+     */
+    private static String performBatched(WebElement element, String action, String text) {
+        if (!BATCHED_ACTIONS) {
+            return null;
+        }
+        return executeBatched(ACTIONABLE_SCRIPT, action, element, action, text);
+    }
+
+    private static String executeBatched(String script, String action, Object... args) {
+        try {
+            Object status = ((JavascriptExecutor) getDriverSafe()).executeScript(script, args);
+            return status == null ? null : status.toString();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            // Elemen belum ada di DOM: biarkan jalur wait yang menangani
+            return null;
+        } catch (WebDriverException e) {
+            System.out.println("[WARNING] Batched " + action + " gagal, fallback ke WebDriver: " + e.getMessage());
+            return null;
         }
+    }
 
-        throw new RuntimeException("Gagal klik elemen setelah beberapa percobaan.");
+    /**
+     * Mencatat jumlah command WebDriver yang dikirim selama satu pemanggilan CustomCommand.
+     */
+    private static void reportWire(String operation, long wireStart) {
+        if (!WireCommandCounter.ENABLED) {
+            return;
+        }
+        long count = WireCommandCounter.current() - wireStart;
+        WireCommandCounter.record(operation, count);
     }
 
 
@@ -92,13 +347,15 @@ public class CustomCommand {
      * @throws RuntimeException jika elemen tidak muncul dalam durasi timeout
      */
     public void verifyElementExist(WebElement element) {
-        WebDriver driver = getDriverSafe();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        getDriverSafe();
+        long wireStart = WireCommandCounter.current();
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            awaitVisible(element, SHORT_TIMEOUT);
             System.out.println("Element ditemukan: " + element);
         } catch (TimeoutException e) {
             throw new RuntimeException("Element tidak ditemukan: " + element, e);
+        } finally {
+            reportWire("verifyElementExist", wireStart);
         }
     }
     
@@ -125,9 +382,11 @@ public class CustomCommand {
      */
     public void verifyElementNotExist(By by) {
         WebDriver driver = getDriverSafe();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         try {
-            boolean invisible = wait.until(ExpectedConditions.invisibilityOfElementLocated(by));
+            Duration effective = WaitEngine.timeoutFor("invisible", SHORT_TIMEOUT);
+            boolean invisible = awaitObserved("invisible", () -> DomWaits.invisible(driver, by, effective))
+                    || WaitEngine.get().until("invisible",
+                            ExpectedConditions.invisibilityOfElementLocated(by), SHORT_TIMEOUT);
             if (invisible) {
                 System.out.println("Element tidak ditemukan (seperti yang diharapkan): " + by);
             }
@@ -143,12 +402,16 @@ public class CustomCommand {
      * @return teks dari elemen
      */
     public String getTextWhenReady(WebElement element) {
-        WebDriver driver = getDriverSafe();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        wait.until(ExpectedConditions.visibilityOf(element));
-        String text = element.getText();
-        System.out.println("Teks dari elemen: " + text);
-        return text;
+        getDriverSafe();
+        long wireStart = WireCommandCounter.current();
+        try {
+            awaitVisible(element, DEFAULT_TIMEOUT);
+            String text = element.getText();
+            System.out.println("Teks dari elemen: " + text);
+            return text;
+        } finally {
+            reportWire("getTextWhenReady", wireStart);
+        }
     }
     
     /**
@@ -191,46 +454,69 @@ public class CustomCommand {
 
     /**
      * Scroll halaman hingga elemen dengan teks tertentu terlihat.
+     * Pencarian (lewat {@link TextIndex}, elemen terdalam yang cocok) dan scroll dilakukan di dalam
+     * halaman oleh {@link ScrollEngine} tanpa sleep; konten lazy-load ditunggu lewat pertumbuhan DOM.
      *
      * @param text teks target yang dicari
-     * @throws RuntimeException jika elemen tidak ditemukan setelah beberapa kali scroll
+     * @throws RuntimeException jika elemen tidak ditemukan sampai timeout scroll
      */
     public void scrollIntoText(String text) {
         WebDriver driver = getDriverSafe();
-        boolean found = false;
+
+        WebElement found;
+        try {
+            found = ScrollEngine.scrollToText(driver, text);
+        } catch (WebDriverException e) {
+            System.out.println("[WARNING] Scroll engine gagal, fallback ke scroll bertahap: " + e.getMessage());
+            found = scrollIntoTextStepwise(driver, text);
+        }
+
+        if (found == null) {
+            throw new RuntimeException("Element with text '" + text + "' not found after scrolling.");
+        }
+        System.out.println("Found and scrolled to element with text: " + text);
+    }
+
+    /**
+     * Jalur lama: scroll 400 px bertahap sampai teks ditemukan. Hanya dipakai jika
+     * async script tidak bisa dijalankan.
+     */
+    private static WebElement scrollIntoTextStepwise(WebDriver driver, String text) {
+        long start = System.nanoTime();
         int maxScroll = 5;
 
-        String xpath = "//*[contains(translate(normalize-space(.), 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), '"
-                + text.toLowerCase() + "')]";
+        // Hanya elemen terdalam yang mengandung teks, bukan ancestor-nya
+        String contains = "contains(translate(normalize-space(.), 'ABCDEFGHIJKLMNOPQRSTUVWXYZ', 'abcdefghijklmnopqrstuvwxyz'), '"
+                + text.toLowerCase() + "')";
+        String xpath = "//*[" + contains + "][not(*[" + contains + "])]";
 
-        for (int i = 0; i < maxScroll; i++) {
-            try {
-                List<WebElement> elements = driver.findElements(By.xpath(xpath));
-
-                if (!elements.isEmpty()) {
-                    WebElement el = elements.get(0);
-                    ((JavascriptExecutor) driver)
-                            .executeScript("arguments[0].scrollIntoView({behavior: 'instant', block: 'center'});", el);
-                    System.out.println("Found and scrolled to element with text: " + text);
-                    found = true;
-                    break;
-                } else {
-                    ((JavascriptExecutor) driver).executeScript("window.scrollBy(0, 400);");
-                    Thread.sleep(400);
+        try {
+            for (int i = 0; i < maxScroll; i++) {
+                try {
+                    List<WebElement> elements = driver.findElements(By.xpath(xpath));
+
+                    if (!elements.isEmpty()) {
+                        WebElement el = elements.get(0);
+                        ((JavascriptExecutor) driver)
+                                .executeScript("arguments[0].scrollIntoView({behavior: 'instant', block: 'center'});", el);
+                        return el;
+                    } else {
+                        ((JavascriptExecutor) driver).executeScript("window.scrollBy(0, 400);");
+                        sleep(400);
+                    }
+                } catch (Exception e) {
+                    System.out.println("Scroll attempt " + (i + 1) + " failed: " + e.getMessage());
                 }
-            } catch (Exception e) {
-                System.out.println("Scroll attempt " + (i + 1) + " failed: " + e.getMessage());
             }
-        }
-
-        if (!found) {
-            throw new RuntimeException(
-                    "Element with text '" + text + "' not found after " + maxScroll + " scroll attempts.");
+            return null;
+        } finally {
+            ScrollEngine.record(System.nanoTime() - start);
         }
     }
 
     /**
-     * Scroll ke elemen agar terlihat di tengah layar.
+     * Scroll instan ke elemen agar terlihat di tengah layar, selesai begitu elemen
+     * masuk viewport (tanpa smooth scroll dan sleep).
      *
      * @param element WebElement target
      */
@@ -238,9 +524,7 @@ public class CustomCommand {
         WebDriver driver = getDriverSafe();
 
         try {
-            ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-            Thread.sleep(300);
+            ScrollEngine.scrollToElement(driver, element);
         } catch (Exception e) {
             System.out.println("Failed scroll into view: " + e.getMessage());
         }
@@ -299,23 +583,67 @@ public class CustomCommand {
      * @return WebElement setelah visible
      */
     public WebElement waitUntilVisible(By by) {
-        WebDriver driver = getDriverSafe();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+        getDriverSafe();
+        WebElement element = WaitEngine.get().until("visibleLocated",
+                ExpectedConditions.visibilityOfElementLocated(by), DEFAULT_TIMEOUT);
         System.out.println("Elemen visible: " + by);
         return element;
     }
 
+    /**
+     * Menunggu hingga atribut elemen mengandung nilai tertentu,
+     * misalnya class tombol berubah menjadi <code>btn_secondary</code> setelah diklik.
+     *
+     * @param element   WebElement target
+     * @param attribute nama atribut
+     * @param value     nilai yang harus terkandung di atribut
+     * @param timeout   batas waktu tunggu
+     * @throws TimeoutException jika atribut tidak berubah sampai timeout
+     */
+    public void waitUntilAttributeContains(WebElement element, String attribute, String value, Duration timeout) {
+        WebDriver driver = getDriverSafe();
+        Duration effective = WaitEngine.timeoutFor("attributeContains", timeout);
+        if (!awaitObserved("attributeContains",
+                () -> DomWaits.attributeContains(driver, element, attribute, value, effective))) {
+            WaitEngine.get().until("attributeContains",
+                    ExpectedConditions.attributeContains(element, attribute, value), timeout);
+        }
+    }
+
+    /**
+     * Membaca teks elemen pertama yang cocok dengan locator dalam satu round trip,
+     * tanpa wait. Mengembalikan null jika elemen tidak ada.
+     *
+     * @param by locator elemen target
+     * @return teks elemen (sudah di-trim) atau null
+     */
+    public String getTextIfPresent(By by) {
+        WebDriver driver = getDriverSafe();
+        Map<String, Object> locator = DomWaits.toJsLocator(by);
+        if (locator != null) {
+            Object text = ((JavascriptExecutor) driver).executeScript(DomWaits.LOCATE_FUNCTION
+                    + "var el = __locate(arguments[0], arguments[1]); return el ? el.textContent : null;",
+                    locator.get("using"), locator.get("value"));
+            return text == null ? null : text.toString().trim();
+        }
+
+        List<WebElement> elements = driver.findElements(by);
+        return elements.isEmpty() ? null : elements.get(0).getText().trim();
+    }
+
     /**
      * Delay sederhana tanpa throws InterruptedException.
      *
      * @param millis durasi tunggu dalam milidetik
      */
     public static void sleep(long millis) {
+        TimeBreakdown.begin(TimeBreakdown.Category.SLEEP);
         try {
             Thread.sleep(millis);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+        } finally {
+            TimeBreakdown.end();
         }
     }
 
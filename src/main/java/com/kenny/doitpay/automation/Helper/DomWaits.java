@@ -0,0 +1,222 @@
+package com.kenny.doitpay.automation.Helper;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * <h1>DomWaits</h1>
+ * Primitive wait berbasis event di sisi browser. Satu {@code executeAsyncScript}
+ * memasang {@code MutationObserver} + {@code IntersectionObserver} dan langsung
+ * mengembalikan hasil begitu kondisi DOM terpenuhi, sehingga satu wait hanya
+ * butuh satu round trip WebDriver, bukan puluhan polling.
+ *
+ * <p>
+ * Diaktifkan lewat <code>-DWAIT_MODE=observer</code> dan dipakai otomatis oleh
+ * {@link CustomCommand}. Jika kondisi tidak bisa dievaluasi di browser (misalnya
+ * elemen PageFactory belum ada di DOM sehingga tidak bisa dikirim sebagai argumen),
+ * method di class ini mengembalikan {@code null} dan pemanggil kembali ke polling
+ * {@link WaitEngine}.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class DomWaits {
+
+    /** Mode wait: <code>poll</code> (default) atau <code>observer</code> */
+    public static final boolean ENABLED = "observer".equalsIgnoreCase(System.getProperty("WAIT_MODE", "poll"));
+
+    /** Margin script timeout di atas timeout kondisi */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 5_000;
+
+    /** Script timeout yang sudah di-set per session, agar tidak dikirim ulang setiap wait */
+    private static final Map<WebDriver, Long> scriptTimeouts = new WeakHashMap<>();
+
+    /** Fungsi JS untuk mencari elemen berdasarkan locator yang sudah diterjemahkan */
+    static final String LOCATE_FUNCTION =
+            "function __locate(using, value) {"
+            + "  switch (using) {"
+            + "    case 'id': return document.getElementById(value);"
+            + "    case 'css': return document.querySelector(value);"
+            + "    case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'className': return document.getElementsByClassName(value)[0] || null;"
+            + "    case 'name': return document.getElementsByName(value)[0] || null;"
+            + "    case 'tagName': return document.getElementsByTagName(value)[0] || null;"
+            + "  }"
+            + "  return null;"
+            + "}";
+
+    /** Fungsi JS visibilitas, mendekati definisi isDisplayed() WebDriver */
+    static final String VISIBLE_FUNCTION =
+            "function __visible(el) {"
+            + "  if (!el || !el.isConnected) return false;"
+            + "  for (var n = el; n && n.nodeType === 1; n = n.parentElement) {"
+            + "    var s = window.getComputedStyle(n);"
+            + "    if (s.display === 'none' || (n === el && s.visibility === 'hidden') || s.opacity === '0') return false;"
+            + "  }"
+            + "  var r = el.getBoundingClientRect();"
+            + "  return r.width > 0 && r.height > 0;"
+            + "}";
+
+    private static final String OBSERVE_SCRIPT =
+            LOCATE_FUNCTION + VISIBLE_FUNCTION
+            + "var done = arguments[arguments.length - 1];"
+            + "var kind = arguments[0], target = arguments[1], timeout = arguments[2], extra = arguments[3] || {};"
+            + "function check() {"
+            + "  switch (kind) {"
+            + "    case 'visible': return __visible(target);"
+            + "    case 'clickable': return __visible(target) && !target.disabled;"
+            + "    case 'invisible': var el = __locate(extra.using, extra.value); return !el || !__visible(el);"
+            + "    case 'attributeContains': var v = target.getAttribute(extra.name); return v !== null && v.indexOf(extra.value) >= 0;"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "if (check()) { done(true); return; }"
+            + "var finished = false, io = null;"
+            + "function finish(result) {"
+            + "  if (finished) return; finished = true;"
+            + "  mo.disconnect(); if (io) io.disconnect(); clearTimeout(timer);"
+            + "  document.removeEventListener('transitionend', onEvent, true);"
+            + "  document.removeEventListener('animationend', onEvent, true);"
+            + "  done(result);"
+            + "}"
+            + "function onEvent() { if (check()) finish(true); }"
+            + "var mo = new MutationObserver(onEvent);"
+            + "mo.observe(document.documentElement, { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "if (target && target.nodeType === 1 && window.IntersectionObserver) {"
+            + "  io = new IntersectionObserver(onEvent); io.observe(target);"
+            + "}"
+            + "document.addEventListener('transitionend', onEvent, true);"
+            + "document.addEventListener('animationend', onEvent, true);"
+            + "var timer = setTimeout(function () { finish(check()); }, timeout);";
+
+    private DomWaits() {
+    }
+
+    /**
+     * Menunggu elemen visible.
+     *
+     * @return true/false hasil wait, atau null jika harus fallback ke polling
+     */
+    public static Boolean visible(WebDriver driver, WebElement element, Duration timeout) {
+        return observe(driver, "visible", element, timeout, null);
+    }
+
+    /**
+     * Menunggu elemen visible dan tidak disabled.
+     *
+     * @return true/false hasil wait, atau null jika harus fallback ke polling
+     */
+    public static Boolean clickable(WebDriver driver, WebElement element, Duration timeout) {
+        return observe(driver, "clickable", element, timeout, null);
+    }
+
+    /**
+     * Menunggu elemen dengan locator tertentu hilang / tidak visible.
+     *
+     * @return true/false hasil wait, atau null jika locator tidak didukung
+     */
+    public static Boolean invisible(WebDriver driver, By by, Duration timeout) {
+        Map<String, Object> locator = toJsLocator(by);
+        if (locator == null) {
+            return null;
+        }
+        return observe(driver, "invisible", null, timeout, locator);
+    }
+
+    /**
+     * Menunggu atribut elemen mengandung nilai tertentu.
+     *
+     * @return true/false hasil wait, atau null jika harus fallback ke polling
+     */
+    public static Boolean attributeContains(WebDriver driver, WebElement element, String attribute, String value,
+            Duration timeout) {
+        Map<String, Object> extra = new HashMap<>();
+        extra.put("name", attribute);
+        extra.put("value", value);
+        return observe(driver, "attributeContains", element, timeout, extra);
+    }
+
+    private static Boolean observe(WebDriver driver, String kind, WebElement element, Duration timeout,
+            Map<String, Object> extra) {
+        try {
+            ensureScriptTimeout(driver, timeout);
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVE_SCRIPT,
+                    kind, element, timeout.toMillis(), extra);
+            return Boolean.TRUE.equals(result);
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            // Elemen belum / tidak lagi ada di DOM: biarkan WaitEngine yang polling
+            return null;
+        } catch (WebDriverException e) {
+            System.out.println("[WARNING] Observer wait gagal, fallback ke polling: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void ensureScriptTimeout(WebDriver driver, Duration timeout) {
+        long required = timeout.toMillis() + SCRIPT_TIMEOUT_MARGIN_MS;
+        synchronized (scriptTimeouts) {
+            Long current = scriptTimeouts.get(driver);
+            if (current != null && current >= required) {
+                return;
+            }
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(required));
+            scriptTimeouts.put(driver, required);
+        }
+    }
+
+    /**
+     * Menerjemahkan {@link By} menjadi pasangan <code>using/value</code> untuk {@link #LOCATE_FUNCTION}.
+     *
+     * @param by locator Selenium
+     * @return map locator, atau null jika tipe locator tidak didukung
+     */
+    static Map<String, Object> toJsLocator(By by) {
+        String text = by.toString();
+        int separator = text.indexOf(": ");
+        if (!text.startsWith("By.") || separator < 0) {
+            return null;
+        }
+
+        String type = text.substring(3, separator);
+        String value = text.substring(separator + 2);
+        String using;
+        switch (type) {
+            case "id":
+                using = "id";
+                break;
+            case "cssSelector":
+                using = "css";
+                break;
+            case "xpath":
+                using = "xpath";
+                break;
+            case "className":
+                using = "className";
+                break;
+            case "name":
+                using = "name";
+                break;
+            case "tagName":
+                using = "tagName";
+                break;
+            default:
+                return null;
+        }
+
+        Map<String, Object> locator = new HashMap<>();
+        locator.put("using", using);
+        locator.put("value", value);
+        return locator;
+    }
+}
@@ -0,0 +1,139 @@
+package com.kenny.doitpay.automation.Helper;
+
+import java.time.Duration;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * <h1>ScrollEngine</h1>
+ * Scroll tanpa sleep: target dicari di dalam halaman (teks lewat {@link TextIndex}),
+ * di-scroll secara instan dalam satu {@code executeAsyncScript}, lalu script menunggu
+ * callback {@code IntersectionObserver}
+ * (elemen benar-benar masuk viewport) alih-alih jeda tetap.
+ *
+ * <p>
+ * Jika teks belum ada di DOM (konten lazy-load), halaman di-scroll ke bawah dan
+ * pertumbuhan DOM diamati dengan {@code MutationObserver} sampai teks muncul atau timeout.
+ * </p>
+ *
+ * <p>
+ * Total waktu scroll per thread dicatat dan diambil lewat {@link #drainScrollMillis()},
+ * sehingga TestListeners bisa menampilkan waktu scroll per test di report.
+ * Timeout bisa di-override dengan <code>-DWAIT_TIMEOUT_SCROLL=&lt;detik&gt;</code>.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScrollEngine {
+
+    /** Timeout default scroll (termasuk menunggu konten lazy-load) */
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    /** Jeda pengelompokan mutasi DOM sebelum teks dicari ulang saat menunggu konten lazy-load */
+    private static final int MUTATION_DEBOUNCE_MS = 50;
+
+    private static final ThreadLocal<long[]> scrollNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Scroll instan ke tengah viewport, selesai saat IntersectionObserver melaporkan elemen terlihat */
+    private static final String REVEAL_FUNCTION =
+            "function __reveal(el, timeout, done) {"
+            + "  el.scrollIntoView({behavior: 'instant', block: 'center'});"
+            + "  if (!window.IntersectionObserver) { done(el); return; }"
+            + "  var io = new IntersectionObserver(function (entries) {"
+            + "    for (var i = 0; i < entries.length; i++) {"
+            + "      if (entries[i].isIntersecting) { clearTimeout(timer); io.disconnect(); done(el); return; }"
+            + "    }"
+            + "  });"
+            + "  var timer = setTimeout(function () { io.disconnect(); done(el); }, timeout);"
+            + "  io.observe(el);"
+            + "}";
+
+    private static final String SCROLL_TO_ELEMENT_SCRIPT =
+            REVEAL_FUNCTION
+            + "var done = arguments[arguments.length - 1];"
+            + "var el = arguments[0];"
+            + "if (!el || !el.isConnected) { done(null); return; }"
+            + "__reveal(el, arguments[1], done);";
+
+    private static final String SCROLL_TO_TEXT_SCRIPT =
+            REVEAL_FUNCTION + TextIndex.FIND_TEXT_FUNCTION
+            + "var done = arguments[arguments.length - 1];"
+            + "var text = arguments[0], timeout = arguments[1];"
+            + "var el = __findText(text);"
+            + "if (el) { __reveal(el, timeout, done); return; }"
+            // Konten lazy-load: scroll ke bawah lalu tunggu DOM bertambah. Pencarian di-debounce agar
+            // index teks dibangun ulang sekali per rentetan mutasi, bukan di setiap mutasi
+            + "var pending = null;"
+            + "var mo = new MutationObserver(function () {"
+            + "  if (pending) return;"
+            + "  pending = setTimeout(function () {"
+            + "    pending = null;"
+            + "    var found = __findText(text);"
+            + "    if (found) { mo.disconnect(); clearTimeout(timer); __reveal(found, timeout, done); }"
+            + "  }, " + MUTATION_DEBOUNCE_MS + ");"
+            + "});"
+            + "mo.observe(document.body, { subtree: true, childList: true, characterData: true });"
+            + "var timer = setTimeout(function () { mo.disconnect(); clearTimeout(pending); done(null); }, timeout);"
+            + "window.scrollTo(0, document.documentElement.scrollHeight);";
+
+    private ScrollEngine() {
+    }
+
+    /**
+     * Scroll ke elemen yang mengandung teks tertentu.
+     *
+     * @param driver WebDriver aktif
+     * @param text   teks yang dicari (case-insensitive)
+     * @return elemen yang di-scroll, atau null jika teks tidak ditemukan sampai timeout
+     */
+    public static WebElement scrollToText(WebDriver driver, String text) {
+        return run(driver, SCROLL_TO_TEXT_SCRIPT, text);
+    }
+
+    /**
+     * Scroll instan sampai elemen terlihat di tengah viewport.
+     *
+     * @param driver  WebDriver aktif
+     * @param element WebElement target
+     * @return true jika elemen masih terhubung ke DOM dan sudah di-scroll
+     */
+    public static boolean scrollToElement(WebDriver driver, WebElement element) {
+        return run(driver, SCROLL_TO_ELEMENT_SCRIPT, element) != null;
+    }
+
+    /**
+     * Menambahkan waktu scroll (misalnya dari jalur fallback) ke total thread saat ini.
+     *
+     * @param nanos durasi scroll
+     */
+    public static void record(long nanos) {
+        scrollNanos.get()[0] += nanos;
+    }
+
+    /**
+     * Mengambil lalu me-reset total waktu scroll thread saat ini.
+     *
+     * @return total waktu scroll dalam milidetik sejak pemanggilan terakhir
+     */
+    public static long drainScrollMillis() {
+        long[] total = scrollNanos.get();
+        long millis = total[0] / 1_000_000;
+        total[0] = 0;
+        return millis;
+    }
+
+    private static WebElement run(WebDriver driver, String script, Object target) {
+        Duration timeout = WaitEngine.timeoutFor("scroll", DEFAULT_TIMEOUT);
+        long start = System.nanoTime();
+        try {
+            DomWaits.ensureScriptTimeout(driver, timeout);
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(script, target, timeout.toMillis());
+            return result instanceof WebElement ? (WebElement) result : null;
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+}
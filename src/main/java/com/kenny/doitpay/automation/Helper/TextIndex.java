@@ -0,0 +1,96 @@
+package com.kenny.doitpay.automation.Helper;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * <h1>TextIndex</h1>
+ * Layanan pencarian elemen berdasarkan teks di dalam halaman. Index teks dibangun
+ * sekali per halaman dengan {@code TreeWalker} (hanya text node, tanpa script/style)
+ * dan disimpan di <code>window</code>; {@code MutationObserver} menandai index kotor
+ * setiap kali DOM berubah sehingga index dibangun ulang pada query berikutnya.
+ *
+ * <p>
+ * Hasil query adalah elemen <b>terdalam</b> yang mengandung teks (case-insensitive,
+ * whitespace dinormalisasi), bukan ancestor seperti <code>html</code>/<code>body</code>
+ * yang juga cocok dengan XPath <code>contains(normalize-space(.))</code>. Semua query,
+ * termasuk teks yang terpecah ke beberapa elemen, dijawab dari index tanpa XPath.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class TextIndex {
+
+    /**
+     * Fungsi JS <code>__findText(text)</code>: mencari elemen terdalam yang mengandung teks.
+     * Semua text node digabung menjadi satu teks dokumen (dinormalisasi seperti
+     * <code>normalize-space</code>) beserta offset awal tiap text node, sehingga teks yang terpecah
+     * ke beberapa text node tetap dijawab dari index: elemen hasilnya adalah ancestor bersama
+     * terdalam dari text node awal dan akhir kecocokan.
+     */
+    static final String FIND_TEXT_FUNCTION =
+            "function __textIndex() {"
+            + "  var idx = window.__doitpayTextIndex;"
+            + "  if (idx && !idx.dirty) return idx;"
+            + "  if (!idx) {"
+            + "    idx = window.__doitpayTextIndex = { dirty: true };"
+            + "    new MutationObserver(function () { idx.dirty = true; })"
+            + "        .observe(document.documentElement, { subtree: true, childList: true, characterData: true });"
+            + "  }"
+            + "  var parts = [], starts = [], nodes = [], length = 0, endsWithSpace = true;"
+            + "  var walker = document.createTreeWalker(document.body || document.documentElement, NodeFilter.SHOW_TEXT, {"
+            + "    acceptNode: function (node) {"
+            + "      var p = node.parentElement;"
+            + "      return !p || /^(SCRIPT|STYLE|NOSCRIPT|TEMPLATE)$/.test(p.tagName) ? NodeFilter.FILTER_REJECT : NodeFilter.FILTER_ACCEPT;"
+            + "    }"
+            + "  });"
+            + "  for (var n = walker.nextNode(); n; n = walker.nextNode()) {"
+            + "    var piece = n.data.replace(/\\s+/g, ' ').toLowerCase();"
+            + "    if (endsWithSpace && piece.charAt(0) === ' ') piece = piece.substring(1);"
+            + "    if (!piece) continue;"
+            + "    starts.push(length); nodes.push(n); parts.push(piece);"
+            + "    length += piece.length; endsWithSpace = piece.charAt(piece.length - 1) === ' ';"
+            + "  }"
+            + "  idx.text = parts.join(''); idx.starts = starts; idx.nodes = nodes; idx.dirty = false;"
+            + "  return idx;"
+            + "}"
+            + "function __textNodeAt(idx, offset) {"
+            + "  var lo = 0, hi = idx.starts.length - 1;"
+            + "  while (lo < hi) {"
+            + "    var mid = (lo + hi + 1) >> 1;"
+            + "    if (idx.starts[mid] <= offset) lo = mid; else hi = mid - 1;"
+            + "  }"
+            + "  return idx.nodes[lo];"
+            + "}"
+            + "function __findText(text) {"
+            + "  var needle = text.replace(/\\s+/g, ' ').trim().toLowerCase();"
+            + "  if (!needle) return null;"
+            + "  var idx = __textIndex();"
+            + "  for (var at = idx.text.indexOf(needle); at >= 0; at = idx.text.indexOf(needle, at + 1)) {"
+            + "    var first = __textNodeAt(idx, at), last = __textNodeAt(idx, at + needle.length - 1);"
+            + "    if (!first.isConnected || !last.isConnected) continue;"
+            + "    var el = first.parentElement;"
+            + "    while (el && !el.contains(last)) el = el.parentElement;"
+            + "    if (el) return el;"
+            + "  }"
+            + "  return null;"
+            + "}";
+
+    private TextIndex() {
+    }
+
+    /**
+     * Mencari elemen terdalam yang mengandung teks, dalam satu round trip dan tanpa scroll.
+     *
+     * @param driver WebDriver aktif
+     * @param text   teks yang dicari (case-insensitive)
+     * @return elemen yang cocok, atau null jika tidak ada
+     */
+    public static WebElement find(WebDriver driver, String text) {
+        Object result = ((JavascriptExecutor) driver).executeScript(
+                FIND_TEXT_FUNCTION + "return __findText(arguments[0]);", text);
+        return result instanceof WebElement ? (WebElement) result : null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.kenny.doitpay.automation.Helper;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import com.kenny.doitpay.automation.Config.WebDriverManager;
+import com.kenny.doitpay.automation.Listeners.TimeBreakdown;
+
+/**
+ * <h1>WaitEngine</h1>
+ * Pengganti {@code new WebDriverWait(...)} per pemanggilan. Satu instance per thread,
+ * dengan polling <i>backoff</i>: polling pertama langsung, lalu jeda bertambah
+ * (10 ms, 20 ms, 40 ms, ... hingga maksimum), sehingga kondisi yang terpenuhi
+ * dalam puluhan milidetik langsung terdeteksi tanpa menunggu interval tetap 500 ms.
+ *
+ * <p>
+ * Semua deadline dihitung dari satu clock monotonic ({@link System#nanoTime()}),
+ * dan setiap wait dicatat di {@link WaitStats}.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>WAIT_MIN_POLL_MS</code> — jeda polling awal (default 10)</li>
+ *   <li><code>WAIT_MAX_POLL_MS</code> — jeda polling maksimum (default 500)</li>
+ *   <li><code>WAIT_TIMEOUT_&lt;KONDISI&gt;</code> — override timeout (detik) per kondisi,
+ *       misalnya <code>-DWAIT_TIMEOUT_VISIBLE=20</code></li>
+ * </ul>
+ *
+ * <p><b>Contoh Penggunaan:</b></p>
+ * <pre>
+ * WaitEngine.get().until("visible", ExpectedConditions.visibilityOf(element), Duration.ofSeconds(10));
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class WaitEngine {
+
+    private static final long MIN_POLL_MS = Long.getLong("WAIT_MIN_POLL_MS", 10);
+    private static final long MAX_POLL_MS = Long.getLong("WAIT_MAX_POLL_MS", 500);
+
+    private static final ThreadLocal<WaitEngine> engine = ThreadLocal.withInitial(WaitEngine::new);
+
+    private WaitEngine() {
+    }
+
+    /**
+     * @return WaitEngine milik thread saat ini
+     */
+    public static WaitEngine get() {
+        return engine.get();
+    }
+
+    /**
+     * Menunggu hingga kondisi menghasilkan nilai non-null / bukan {@code false}.
+     *
+     * @param conditionName nama kondisi untuk statistik (misalnya "visible", "clickable")
+     * @param condition     kondisi yang dievaluasi terhadap driver aktif
+     * @param timeout       timeout default jika tidak di-override lewat System Property
+     * @return nilai dari kondisi ketika terpenuhi
+     * @throws TimeoutException jika kondisi tidak terpenuhi sampai timeout
+     */
+    public <T> T until(String conditionName, Function<WebDriver, T> condition, Duration timeout) {
+        TimeBreakdown.begin(TimeBreakdown.Category.WAIT, conditionName);
+        try {
+            return poll(conditionName, condition, timeout);
+        } finally {
+            TimeBreakdown.end();
+        }
+    }
+
+    private <T> T poll(String conditionName, Function<WebDriver, T> condition, Duration timeout) {
+        WebDriver driver = WebDriverManager.getDriver();
+        long timeoutNanos = timeoutFor(conditionName, timeout).toNanos();
+
+        long start = System.nanoTime();
+        long pollMs = MIN_POLL_MS;
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitStats.record(conditionName, polls, System.nanoTime() - start, true);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+            if (remainingNanos <= 0) {
+                long elapsed = System.nanoTime() - start;
+                WaitStats.record(conditionName, polls, elapsed, false);
+                throw new TimeoutException("Expected condition failed: waiting for " + conditionName
+                        + " (tried for " + elapsed / 1_000_000 + " ms with " + polls + " polls)", lastError);
+            }
+
+            sleep(Math.min(pollMs, remainingNanos / 1_000_000 + 1));
+            pollMs = Math.min(pollMs * 2, MAX_POLL_MS);
+        }
+    }
+
+    /**
+     * Timeout untuk kondisi tertentu, memperhitungkan override <code>WAIT_TIMEOUT_&lt;KONDISI&gt;</code>.
+     *
+     * @param conditionName nama kondisi
+     * @param fallback      timeout jika tidak ada override
+     * @return timeout efektif
+     */
+    static Duration timeoutFor(String conditionName, Duration fallback) {
+        String override = System.getProperty("WAIT_TIMEOUT_" + conditionName.toUpperCase());
+        if (override != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(override.trim()));
+            } catch (NumberFormatException e) {
+                System.out.println("[WARNING] WAIT_TIMEOUT_" + conditionName.toUpperCase()
+                        + " tidak valid: " + override);
+            }
+        }
+        return fallback;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Wait interrupted", e);
+        }
+    }
+}
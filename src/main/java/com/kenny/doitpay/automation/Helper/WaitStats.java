@@ -0,0 +1,136 @@
+package com.kenny.doitpay.automation.Helper;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.kenny.doitpay.automation.Listeners.ExecutionLog;
+
+/**
+ * <h1>WaitStats</h1>
+ * Statistik global dari {@link WaitEngine}: jumlah wait, jumlah polling, timeout,
+ * dan histogram waktu sampai kondisi terpenuhi (time-to-satisfy) per nama kondisi.
+ *
+ * <p>
+ * Histogram memakai bucket eksponensial (0-1 ms, 1-2 ms, 2-4 ms, ... ) sehingga
+ * pencatatan hanya berupa increment atomik tanpa lock.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class WaitStats {
+
+    /** Jumlah bucket histogram: bucket terakhir menampung &gt;= 2^(BUCKETS-2) ms */
+    private static final int BUCKETS = 18;
+
+    private static final Map<String, ConditionStats> stats = new ConcurrentHashMap<>();
+
+    private WaitStats() {
+    }
+
+    /**
+     * Mencatat satu wait yang sudah selesai.
+     *
+     * @param condition  nama kondisi
+     * @param polls      jumlah evaluasi kondisi
+     * @param elapsedNanos durasi wait
+     * @param satisfied  true jika kondisi terpenuhi, false jika timeout
+     */
+    static void record(String condition, int polls, long elapsedNanos, boolean satisfied) {
+        ExecutionLog.span("wait", condition, elapsedNanos, satisfied ? "ok" : "timeout");
+        ConditionStats s = stats.computeIfAbsent(condition, k -> new ConditionStats());
+        s.calls.increment();
+        s.polls.add(polls);
+        s.totalNanos.add(elapsedNanos);
+        if (satisfied) {
+            s.histogram.incrementAndGet(bucketOf(elapsedNanos / 1_000_000));
+        } else {
+            s.timeouts.increment();
+        }
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis <= 0) {
+            return 0;
+        }
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /** Batas atas (ms) dari bucket histogram */
+    private static long bucketUpperMillis(int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Ringkasan per kondisi, diurutkan berdasarkan nama kondisi.
+     *
+     * @return map nama kondisi → teks ringkasan
+     */
+    public static Map<String, String> getSummary() {
+        Map<String, String> summary = new TreeMap<>();
+        stats.forEach((condition, s) -> summary.put(condition, s.describe()));
+        return summary;
+    }
+
+    /**
+     * Menghapus semua statistik.
+     */
+    public static void reset() {
+        stats.clear();
+    }
+
+    private static class ConditionStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder polls = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        String describe() {
+            long callCount = calls.sum();
+            long satisfied = callCount - timeouts.sum();
+            double avgPolls = callCount == 0 ? 0 : (double) polls.sum() / callCount;
+
+            return "calls=" + callCount
+                    + ", timeouts=" + timeouts.sum()
+                    + ", avgPolls=" + String.format("%.1f", avgPolls)
+                    + ", p50<=" + percentile(satisfied, 0.50) + "ms"
+                    + ", p90<=" + percentile(satisfied, 0.90) + "ms"
+                    + ", p99<=" + percentile(satisfied, 0.99) + "ms"
+                    + ", histogram=" + histogramText();
+        }
+
+        private long percentile(long total, double p) {
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= target) {
+                    return bucketUpperMillis(i);
+                }
+            }
+            return bucketUpperMillis(BUCKETS - 1);
+        }
+
+        private String histogramText() {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = histogram.get(i);
+                if (count > 0) {
+                    if (sb.length() > 1) {
+                        sb.append(' ');
+                    }
+                    sb.append("<").append(bucketUpperMillis(i)).append("ms:").append(count);
+                }
+            }
+            return sb.append(']').toString();
+        }
+    }
+}
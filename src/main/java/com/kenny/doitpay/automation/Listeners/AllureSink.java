@@ -0,0 +1,88 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * <h1>AllureSink</h1>
+ * Sink {@link ReportBus} untuk Allure. Step dan attachment ditambahkan ke test case / step
+ * yang aktif saat event dibuat (UUID-nya dibawa oleh {@link ReportEvent}), sehingga bisa
+ * diproses di thread sink. Event tanpa parent Allure (misalnya setelah AllureTestNg menutup
+ * test case) dilewati. Allure lifecycle aman dipakai dari banyak thread, sehingga event test
+ * yang berbeda boleh diproses bersamaan.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+class AllureSink implements ReportSink {
+
+    private static final String TXT_TYPE = "text/plain";
+    private static final String TXT_EXTENSION = ".txt";
+
+    private final AllureLifecycle lifecycle = Allure.getLifecycle();
+
+    @Override
+    public void accept(ReportEvent event) {
+        if (event.allureParent == null) {
+            return;
+        }
+        switch (event.type) {
+            case STEP:
+                step(event.allureParent, event.name);
+                break;
+            case LOG:
+                // Detail di luar step tampil sebagai step Allure, sama seperti sebelumnya
+                if (event.allureStep) {
+                    step(event.allureParent, event.message);
+                }
+                break;
+            case SCREENSHOT:
+                event.screenshot.attachToAllure(event.name, event.allureParent, event.allureParentIsStep);
+                break;
+            case API_REQUEST:
+                String request = startStep(event.allureParent, "API Request: " + event.name + " " + event.message);
+                attachText("Headers", event.headers);
+                attachText("Request Body", event.body);
+                lifecycle.stopStep(request);
+                break;
+            case API_RESPONSE:
+                String response = startStep(event.allureParent, "API Response");
+                attachText("Status Code", String.valueOf(event.statusCode));
+                attachText("Headers", event.headers);
+                attachText("Response Body", event.body);
+                lifecycle.stopStep(response);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public boolean concurrentTests() {
+        return true;
+    }
+
+    private void step(String parent, String name) {
+        lifecycle.stopStep(startStep(parent, name));
+    }
+
+    private String startStep(String parent, String name) {
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(parent, uuid, new StepResult().setName(name).setStatus(Status.PASSED));
+        return uuid;
+    }
+
+    /**
+     * Menambahkan attachment teks ke step yang baru dibuka di thread sink ini.
+     */
+    private void attachText(String name, String content) {
+        if (content != null && !content.isEmpty()) {
+            lifecycle.addAttachment(name, TXT_TYPE, TXT_EXTENSION, content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,83 +1,39 @@
 package com.kenny.doitpay.automation.Listeners;
 
 import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.markuputils.ExtentColor;
-import com.aventstack.extentreports.markuputils.MarkupHelper;
-import com.kenny.doitpay.automation.Helper.JsonHelper;
 
-import io.qameta.allure.Allure;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
 
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
-
 public class ApiLogHelper {
 
     private final ExtentTest test;
 
+    /** Request terakhir untuk event <code>api</code> di {@link ExecutionLog} */
+    private String request;
+    private long requestStartNanos;
+
     public ApiLogHelper(ExtentTest test) {
         this.test = test;
     }
 
     public void logRequest(String method, String endpoint, Headers headers, String requestBody) {
-        // Extent
-        ExtentTest requestNode = test.createNode(
-                MarkupHelper.createLabel("Request Info", ExtentColor.BLACK).getMarkup()
-        );
-
-        if (headers != null && !headers.asList().isEmpty()) {
-            requestNode.info("Headers: " + headers.toString());
-        }
-
-        if (requestBody != null && !requestBody.isEmpty()) {
-            requestNode.info("Method: " + method);
-            requestNode.info("Endpoint: " + endpoint);
-            String pretty = JsonHelper.prettyPrint(requestBody);
-            requestNode.info(MarkupHelper.createLabel("Request Body:", ExtentColor.BLUE));
-            requestNode.info(MarkupHelper.createCodeBlock(pretty));
-        }
-
-        // Allure
-        Allure.step("API Request: " + method + " " + endpoint, () -> {
-            if (headers != null && !headers.asList().isEmpty()) {
-                Allure.addAttachment("Headers", headers.toString());
-            }
-            if (requestBody != null && !requestBody.isEmpty()) {
-                Allure.addAttachment("Request Body", requestBody);
-            }
-        });
+        request = method + " " + endpoint;
+        requestStartNanos = ExecutionLog.now();
+        // Pretty print & attachment dibuat oleh sink Extent/Allure di background
+        ReportBus.publish(ReportEvent.apiRequest(test, method, endpoint, toText(headers), requestBody));
     }
 
     public void logResponse(Response response) {
-        // Extent
-        ExtentTest responseNode = test.createNode(
-                MarkupHelper.createLabel("Response Info", ExtentColor.BLACK).getMarkup()
-        );
-
-        responseNode.info("Status Code: " + response.getStatusCode());
-
-        Headers headers = response.getHeaders();
-        if (headers != null && !headers.asList().isEmpty()) {
-            responseNode.info("Headers: " + headers.toString());
-        }
-
-        String body = response.getBody().asString();
-        if (body != null && !body.isEmpty()) {
-            String pretty = JsonHelper.prettyPrint(body);
-            responseNode.info(MarkupHelper.createLabel("Response Body:", ExtentColor.GREEN));
-            responseNode.info(MarkupHelper.createCodeBlock(pretty));
+        if (request != null) {
+            ExecutionLog.end("api", request, requestStartNanos, String.valueOf(response.getStatusCode()));
+            request = null;
         }
+        ReportBus.publish(ReportEvent.apiResponse(test, response.getStatusCode(),
+                toText(response.getHeaders()), response.getBody().asString()));
+    }
 
-        // Allure
-        Allure.step("API Response", () -> {
-            Allure.addAttachment("Status Code", String.valueOf(response.getStatusCode()));
-            if (headers != null && !headers.asList().isEmpty()) {
-                Allure.addAttachment("Headers", headers.toString());
-            }
-            if (body != null && !body.isEmpty()) {
-                Allure.addAttachment("Response Body", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
-            }
-        });
+    private static String toText(Headers headers) {
+        return headers != null && !headers.asList().isEmpty() ? headers.toString() : null;
     }
 }
@@ -0,0 +1,356 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <h1>CommandTracer</h1>
+ * Tracing command WebDriver per test: setiap test menjadi satu trace dengan span test sebagai
+ * root, span untuk setiap {@link LogHelper#step(String)}, dan span untuk setiap command
+ * (findElement, click, executeScript, getScreenshotAs, ...) di bawah step yang aktif.
+ *
+ * <p>
+ * Span command dicatat oleh decorator {@link com.kenny.doitpay.automation.Config.WireCommandCounter}.
+ * Span disimpan di {@link TestContext} milik thread test (tanpa lock) dan diekspor sekali di akhir
+ * test ke <code>reports/summary-report/&lt;run&gt;.traces.jsonl</code> dalam format OTLP/JSON
+ * (satu <code>ExportTraceServiceRequest</code> per baris), yang bisa dibaca receiver
+ * <code>otlpjsonfile</code> OpenTelemetry Collector lalu diteruskan ke Jaeger/Tempo.
+ * </p>
+ *
+ * <p>
+ * Command yang dikirim sebelum test dimulai (misalnya <code>@BeforeMethod</code>: maximize window,
+ * navigasi awal) ditampung per thread lalu dipasang di bawah span test berikutnya dengan atribut
+ * <code>test.phase=setup</code>, sama seperti {@link TimeBreakdown} menghitung waktu tersebut
+ * sebagai bagian test. Span test dimulai dari command setup pertama.
+ * </p>
+ *
+ * <p>
+ * Overhead pencatatan span command diukur dan ditampilkan di akhir suite
+ * (<code>avgOverheadNs</code>), sehingga aman dipantau saat tracing aktif di CI.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>TRACE_COMMANDS</code> — <code>false</code> untuk menonaktifkan (default <code>true</code>)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class CommandTracer {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("TRACE_COMMANDS", "true"));
+
+    private static final String SERVICE_NAME = "automation-web-selenium-doitpay";
+    private static final String SCOPE_NAME = "com.kenny.doitpay.automation";
+
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_CLIENT = 3;
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+
+    /** Selisih epoch (nanodetik) terhadap {@link System#nanoTime()} agar span memakai waktu monotonic */
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Batas span command sebelum test per thread (thread tanpa test berikutnya tidak menumpuk tanpa batas) */
+    private static final int MAX_SETUP_SPANS = 512;
+
+    /** Span command yang dikirim di thread ini sebelum test berikutnya dimulai */
+    private static final ThreadLocal<Trace> setup = ThreadLocal.withInitial(Trace::new);
+
+    private static final LongAdder commandSpans = new LongAdder();
+    private static final LongAdder overheadNanos = new LongAdder();
+    private static final LongAdder droppedSetupSpans = new LongAdder();
+    private static final LongAdder exportedTraces = new LongAdder();
+    private static final AtomicLong exportNanos = new AtomicLong();
+
+    private static final Object lock = new Object();
+    private static Writer writer;
+
+    private CommandTracer() {
+    }
+
+    /**
+     * Memulai trace untuk test yang baru dimulai di thread ini.
+     */
+    static void startTest(TestContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        Trace trace = new Trace();
+        trace.root = trace.open(context.testName, null, KIND_INTERNAL);
+        trace.root.attribute("test.name", context.testName);
+        adoptSetupSpans(trace);
+        context.trace = trace;
+    }
+
+    /**
+     * Memindahkan span command sebelum test (setup) ke bawah span test yang baru dimulai.
+     */
+    private static void adoptSetupSpans(Trace trace) {
+        Trace pending = setup.get();
+        if (pending.spans.isEmpty()) {
+            return;
+        }
+        for (Span span : pending.spans) {
+            span.parentId = trace.root.spanId;
+            span.attribute("test.phase", "setup");
+            trace.spans.add(span);
+        }
+        trace.root.start = Math.min(trace.root.start, pending.spans.get(0).start);
+        pending.spans.clear();
+        pending.command = null;
+    }
+
+    /**
+     * Memulai span step baru di bawah span test.
+     */
+    static void startStep(TestContext context, String name) {
+        Trace trace = context.trace;
+        if (trace != null) {
+            trace.step = trace.open(name, trace.root, KIND_INTERNAL);
+            trace.step.attribute("step.number", String.valueOf(context.currentStep));
+        }
+    }
+
+    /**
+     * Menutup span step yang aktif.
+     */
+    static void endStep(TestContext context) {
+        Trace trace = context.trace;
+        if (trace != null && trace.step != null) {
+            trace.step.end = System.nanoTime();
+            trace.step = null;
+        }
+    }
+
+    /**
+     * Memulai span command WebDriver di bawah step aktif (atau test jika belum ada step).
+     * Command sebelum test dimulai ditampung dan dipasang di trace test berikutnya.
+     *
+     * @param command nama command, misalnya <code>findElement</code>
+     * @param target  nama tipe target (WebDriver / WebElement)
+     * @param locator locator untuk findElement(s), boleh null
+     */
+    public static void startCommand(String command, String target, String locator) {
+        if (!ENABLED) {
+            return;
+        }
+        long start = System.nanoTime();
+        Trace trace = TestContext.get().trace;
+        if (trace == null) {
+            trace = setup.get();
+            if (trace.spans.size() >= MAX_SETUP_SPANS) {
+                droppedSetupSpans.increment();
+                return;
+            }
+        }
+        Span span = trace.open(command, trace.step != null ? trace.step : trace.root, KIND_CLIENT);
+        span.start = start;
+        span.attribute("selenium.command", command);
+        span.attribute("selenium.target", target);
+        if (locator != null) {
+            span.attribute("selenium.locator", locator);
+        }
+        trace.command = span;
+        overheadNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Menutup span command yang aktif.
+     *
+     * @param error pesan error jika command gagal, null jika sukses
+     */
+    public static void endCommand(String error) {
+        if (!ENABLED) {
+            return;
+        }
+        long end = System.nanoTime();
+        Trace trace = TestContext.get().trace;
+        if (trace == null) {
+            trace = setup.get();
+        }
+        if (trace.command == null) {
+            return;
+        }
+        trace.command.end = end;
+        if (error != null) {
+            trace.command.error = error;
+        }
+        trace.command = null;
+        commandSpans.increment();
+        overheadNanos.add(System.nanoTime() - end);
+    }
+
+    /**
+     * Menutup trace test lalu mengekspornya ke file OTLP/JSON.
+     *
+     * @param status PASS, FAIL, atau SKIP
+     * @param error  penyebab gagal, boleh null
+     */
+    static void endTest(TestContext context, String status, Throwable error) {
+        Trace trace = context.trace;
+        if (trace == null) {
+            return;
+        }
+        context.trace = null;
+        long end = System.nanoTime();
+        for (Span span : trace.spans) {
+            if (span.end == 0) {
+                span.end = end;
+            }
+        }
+        trace.root.attribute("test.status", status);
+        if ("FAIL".equals(status)) {
+            trace.root.error = error != null ? String.valueOf(error) : status;
+        }
+        export(trace);
+    }
+
+    /**
+     * @return ringkasan jumlah span dan overhead tracing
+     */
+    public static String getStats() {
+        long commands = commandSpans.sum();
+        long traces = exportedTraces.sum();
+        return "traces=" + traces
+                + ", commandSpans=" + commands
+                + ", avgOverheadNs=" + (commands == 0 ? 0 : overheadNanos.sum() / commands)
+                + ", droppedSetupSpans=" + droppedSetupSpans.sum()
+                + ", avgExportMs=" + (traces == 0 ? 0 : String.format("%.2f", exportNanos.get() / 1e6 / traces));
+    }
+
+    private static void export(Trace trace) {
+        long start = System.nanoTime();
+        String line = toOtlpJson(trace);
+        synchronized (lock) {
+            try {
+                if (writer == null) {
+                    Path dir = Paths.get(ExtentReportsManager.REPORT_DIR);
+                    Files.createDirectories(dir);
+                    writer = new BufferedWriter(Files.newBufferedWriter(
+                            dir.resolve(ExtentReportsManager.RUN_NAME + ".traces.jsonl"), StandardCharsets.UTF_8));
+                }
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                System.out.println("[WARNING] Gagal menulis trace: " + e.getMessage());
+            }
+        }
+        exportedTraces.increment();
+        exportNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    private static String toOtlpJson(Trace trace) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode resourceSpans = root.putArray("resourceSpans").addObject();
+        ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", SERVICE_NAME);
+
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", SCOPE_NAME);
+        ArrayNode spans = scopeSpans.putArray("spans");
+
+        for (Span span : trace.spans) {
+            ObjectNode node = spans.addObject();
+            node.put("traceId", trace.traceId);
+            node.put("spanId", hex(span.spanId));
+            if (span.parentId != 0) {
+                node.put("parentSpanId", hex(span.parentId));
+            }
+            node.put("name", span.name);
+            node.put("kind", span.kind);
+            node.put("startTimeUnixNano", String.valueOf(EPOCH_OFFSET_NANOS + span.start));
+            node.put("endTimeUnixNano", String.valueOf(EPOCH_OFFSET_NANOS + span.end));
+            ArrayNode attributes = node.putArray("attributes");
+            for (int i = 0; i < span.attributes.size(); i += 2) {
+                addAttribute(attributes, span.attributes.get(i), span.attributes.get(i + 1));
+            }
+            ObjectNode status = node.putObject("status");
+            if (span.error != null) {
+                status.put("code", STATUS_ERROR).put("message", span.error);
+            } else {
+                status.put("code", STATUS_OK);
+            }
+        }
+        return root.toString();
+    }
+
+    private static void addAttribute(ArrayNode attributes, String key, String value) {
+        ObjectNode attribute = attributes.addObject();
+        attribute.put("key", key);
+        attribute.putObject("value").put("stringValue", value);
+    }
+
+    /** Id span/trace OTLP: 16 digit hex untuk satu long */
+    private static String hex(long id) {
+        String digits = Long.toHexString(id);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    /** Id acak yang tidak nol (nol berarti tidak ada parent) */
+    private static long randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /** Span milik satu test, hanya diakses dari thread test */
+    static final class Trace {
+        final String traceId = hex(randomId()) + hex(randomId());
+        final List<Span> spans = new ArrayList<>();
+        Span root;
+        Span step;
+        Span command;
+
+        Span open(String name, Span parent, int kind) {
+            Span span = new Span(name, parent != null ? parent.spanId : 0, kind);
+            spans.add(span);
+            return span;
+        }
+    }
+
+    private static final class Span {
+        /** Id dalam bentuk long agar pencatatan murah; diformat hex saat ekspor */
+        final long spanId = randomId();
+        /** Bisa dipindah ke span test untuk command sebelum test dimulai */
+        long parentId;
+        final String name;
+        final int kind;
+        long start = System.nanoTime();
+        long end;
+        String error;
+        /** Pasangan key, value */
+        final List<String> attributes = new ArrayList<>(6);
+
+        Span(String name, long parentId, int kind) {
+            this.name = name;
+            this.parentId = parentId;
+            this.kind = kind;
+        }
+
+        void attribute(String key, String value) {
+            attributes.add(key);
+            attributes.add(value);
+        }
+    }
+}
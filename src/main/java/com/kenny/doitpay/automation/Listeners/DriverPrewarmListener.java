@@ -0,0 +1,37 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.kenny.doitpay.automation.Config.ChromeDriverFactory;
+import com.kenny.doitpay.automation.Config.DriverPool;
+
+/**
+ * <h1>DriverPrewarmListener</h1>
+ * Suite listener yang me-launch session browser di background sejak suite dimulai,
+ * sehingga launch Chrome berjalan paralel dengan TestNG yang masih menyiapkan run,
+ * konstruksi Page Object, dan pembacaan data test.
+ *
+ * <p>
+ * Jumlah session diatur lewat System Property <code>DRIVER_PREWARM</code>
+ * (lihat {@link DriverPool#PREWARM_COUNT}). Session hasil pre-warm diambil oleh
+ * {@link com.kenny.doitpay.automation.Config.WebDriverManager#initDriver} di <code>BaseTest.setUp()</code>.
+ * </p>
+ *
+ * <p><b>Penggunaan (WebSuite.xml):</b></p>
+ * <pre>
+ * &lt;listener class-name="com.kenny.doitpay.automation.Listeners.DriverPrewarmListener"/&gt;
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class DriverPrewarmListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (DriverPool.PREWARM_COUNT > 0) {
+            DriverPool.prewarm(new ChromeDriverFactory(), DriverPool.PREWARM_COUNT);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>ExecutionLog</h1>
+ * Log eksekusi dalam format JSON Lines untuk analisis timing: suite/test/step start &amp; end,
+ * command WebDriver, wait, screenshot, dan request API. Setiap baris berisi timestamp
+ * monotonic (nanodetik sejak awal run), thread id, dan id test.
+ *
+ * <p>
+ * Thread pemanggil hanya membuat satu objek event kecil dan memasukkannya ke queue lock-free
+ * (sub-mikrodetik); format JSON dan penulisan file dikerjakan thread background dengan
+ * {@link BufferedWriter}. Jika queue penuh event dibuang dan dihitung, bukan memperlambat test.
+ * </p>
+ *
+ * <p><b>Format baris:</b></p>
+ * <pre>
+ * {"t":1523000,"th":21,"test":3,"ev":"cmd","name":"findElement","dur":8400000,"status":"ok"}
+ * </pre>
+ * <p>
+ * Baris pertama (<code>run_start</code>) menyimpan <code>wall</code> (epoch millis) untuk <code>t=0</code>.
+ * Event ber-durasi (<code>*_end</code>, <code>cmd</code>, <code>wait</code>, <code>screenshot</code>,
+ * <code>api</code>) memakai <code>t</code> = waktu mulai.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>EXECUTION_LOG</code> — <code>false</code> untuk menonaktifkan (default <code>true</code>)</li>
+ *   <li><code>EXECUTION_LOG_QUEUE</code> — kapasitas queue sebelum event dibuang (default 65536)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ExecutionLog {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("EXECUTION_LOG", "true"));
+
+    private static final int CAPACITY = Math.max(1024, Integer.getInteger("EXECUTION_LOG_QUEUE", 65_536));
+
+    /** Jeda thread writer saat queue kosong; buffer di-flush ke disk setiap kali idle */
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    private static final long RUN_START_NANOS = System.nanoTime();
+
+    private static final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger size = new AtomicInteger();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+
+    private static final Writer writer = open();
+
+    private ExecutionLog() {
+    }
+
+    /**
+     * @return waktu monotonic saat ini, untuk dihitung durasinya lewat {@link #end(String, String, long, String)}
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Mencatat event sesaat, misalnya <code>test_start</code>.
+     */
+    public static void instant(String type, String name) {
+        enqueue(type, name, System.nanoTime(), -1, null);
+    }
+
+    /**
+     * Mencatat event yang sudah selesai, berdasarkan waktu mulainya.
+     *
+     * @param type       jenis event, misalnya <code>cmd</code>, <code>test_end</code>
+     * @param name       nama command / test / step
+     * @param startNanos waktu mulai dari {@link #now()}
+     * @param status     status (boleh null)
+     */
+    public static void end(String type, String name, long startNanos, String status) {
+        enqueue(type, name, startNanos, System.nanoTime() - startNanos, status);
+    }
+
+    /**
+     * Mencatat event yang sudah selesai, berdasarkan durasinya (berakhir sekarang).
+     */
+    public static void span(String type, String name, long durationNanos, String status) {
+        enqueue(type, name, System.nanoTime() - durationNanos, durationNanos, status);
+    }
+
+    /**
+     * Menunggu semua event di queue tertulis lalu flush ke disk. Dipanggil di akhir suite.
+     */
+    public static void flush() {
+        if (writer == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (size.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        synchronized (writer) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                System.out.println("[WARNING] Execution log gagal di-flush: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return ringkasan jumlah event tertulis dan dibuang
+     */
+    public static String getStats() {
+        return "events=" + written.get() + ", dropped=" + dropped.get();
+    }
+
+    private static void enqueue(String type, String name, long startNanos, long durationNanos, String status) {
+        if (writer == null) {
+            return;
+        }
+        if (size.incrementAndGet() > CAPACITY) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(new Event(type, name, startNanos - RUN_START_NANOS, durationNanos, status,
+                Thread.currentThread().getId(), TestContext.get().testId));
+    }
+
+    private static Writer open() {
+        if (!ENABLED) {
+            return null;
+        }
+        try {
+            Path dir = Paths.get(ExtentReportsManager.REPORT_DIR);
+            Files.createDirectories(dir);
+            Path file = dir.resolve(ExtentReportsManager.RUN_NAME + ".execution.jsonl");
+            Writer created = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 64 * 1024);
+            created.write("{\"t\":0,\"ev\":\"run_start\",\"wall\":" + System.currentTimeMillis() + "}\n");
+
+            Thread thread = new Thread(() -> drain(created), "execution-log-writer");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(ExecutionLog::flush, "execution-log-flush"));
+            return created;
+        } catch (IOException e) {
+            System.out.println("[WARNING] Execution log tidak bisa dibuka: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void drain(Writer out) {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            Event event = queue.poll();
+            if (event == null) {
+                synchronized (out) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        System.out.println("[WARNING] Execution log gagal di-flush: " + e.getMessage());
+                    }
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            line.setLength(0);
+            event.appendTo(line);
+            synchronized (out) {
+                try {
+                    out.append(line);
+                } catch (IOException e) {
+                    System.out.println("[WARNING] Execution log gagal menulis event: " + e.getMessage());
+                }
+            }
+            written.incrementAndGet();
+            size.decrementAndGet();
+        }
+    }
+
+    private static final class Event {
+        final String type;
+        final String name;
+        final long t;
+        final long duration;
+        final String status;
+        final long thread;
+        final long test;
+
+        Event(String type, String name, long t, long duration, String status, long thread, long test) {
+            this.type = type;
+            this.name = name;
+            this.t = t;
+            this.duration = duration;
+            this.status = status;
+            this.thread = thread;
+            this.test = test;
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append("{\"t\":").append(t)
+                    .append(",\"th\":").append(thread)
+                    .append(",\"test\":").append(test)
+                    .append(",\"ev\":\"").append(type).append('"');
+            if (name != null) {
+                out.append(",\"name\":");
+                appendString(out, name);
+            }
+            if (duration >= 0) {
+                out.append(",\"dur\":").append(duration);
+            }
+            if (status != null) {
+                out.append(",\"status\":");
+                appendString(out, status);
+            }
+            out.append("}\n");
+        }
+
+        private static void appendString(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            out.append('"');
+        }
+    }
+}
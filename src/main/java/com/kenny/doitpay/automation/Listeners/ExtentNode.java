@@ -1,8 +1,5 @@
 package com.kenny.doitpay.automation.Listeners;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.aventstack.extentreports.ExtentTest;
 
 
@@ -19,8 +16,8 @@ import com.aventstack.extentreports.ExtentTest;
  * ExtentNode.addScreenshot("path/to/screenshot.png");
  * </pre>
  *
- * <p>class ini memanfaatkan {@code ThreadLocal} berbasis {@code Thread ID} untuk memastikan 
- * bahwa report berjalan dengan aman secara paralel.</p>
+ * <p>class ini menyimpan test dan node di {@link TestContext} ({@code ThreadLocal}) tanpa lock global,
+ * sehingga report berjalan dengan aman secara paralel.</p>
  *
  * @author Kenny Ramadhan
  * @version 1.0
@@ -29,23 +26,17 @@ import com.aventstack.extentreports.ExtentTest;
 public class ExtentNode {
 	
 
-    /** Menyimpan parent test berdasarkan Thread ID */
-    private static Map<Long, ExtentTest> parentTestMap = new HashMap<>();
-    
-    /** Menyimpan node test berdasarkan Thread ID */
-    private static Map<Long, ExtentTest> nodeTestMap = new HashMap<>();
-    
-    
     /**
-     * Membuat parent test baru dan menyimpannya berdasarkan Thread ID.
+     * Membuat parent test baru dan menyimpannya di {@link TestContext} thread saat ini.
      *
      * @param testName Nama dari test yang akan dibuat.
      * @return {@link ExtentTest} instance yang baru dibuat.
      */
-    @SuppressWarnings("deprecation")
-	public static synchronized ExtentTest createTest(String testName) {
+	public static ExtentTest createTest(String testName) {
         ExtentTest test = ExtentReportsManager.getExtentReports().createTest(testName);
-        parentTestMap.put(Thread.currentThread().getId(), test);
+        TestContext context = TestContext.get();
+        context.test = test;
+        context.node = null;
         return test;
     }
 
@@ -53,36 +44,33 @@ public class ExtentNode {
     
     
     /**
-     * Mengambil parent test berdasarkan Thread ID.
+     * Mengambil parent test milik thread saat ini.
      *
      * @return {@link ExtentTest} instance parent test saat ini.
      */
-    @SuppressWarnings("deprecation")
-	public static synchronized ExtentTest getTest() {
-        return parentTestMap.get(Thread.currentThread().getId());
+	public static ExtentTest getTest() {
+        return TestContext.get().test;
     }
     
     
     /**
-     * Membuat node baru di bawah parent test dan menyimpannya berdasarkan Thread ID.
+     * Membuat node baru di bawah parent test dan menyimpannya di {@link TestContext}.
      *
      * @param stepName Nama step yang akan digunakan sebagai node.
      * @return {@link ExtentTest} instance node yang baru dibuat.
      */
 
-    @SuppressWarnings("deprecation")
-	public static synchronized ExtentTest createNode(String stepName) {
+	public static ExtentTest createNode(String stepName) {
     	
-    	 ExtentTest parent = getTest();
+    	 TestContext context = TestContext.get();
 
     	    //  Jika parent test belum ada, buat otomatis
-    	    if (parent == null) {
-    	        parent = ExtentReportsManager.getExtentReports()
+    	    if (context.test == null) {
+    	        context.test = ExtentReportsManager.getExtentReports()
     	                   .createTest("Unnamed Test (Auto Created)");
-    	        parentTestMap.put(Thread.currentThread().getId(), parent);
     	    }
-        ExtentTest node = getTest().createNode(stepName);
-        nodeTestMap.put(Thread.currentThread().getId(), node);
+        ExtentTest node = context.test.createNode(stepName);
+        context.node = node;
         return node;
     }
 
@@ -90,24 +78,21 @@ public class ExtentNode {
     
     
     /**
-     * Mengambil node test yang sedang aktif berdasarkan Thread ID.
+     * Mengambil node test yang sedang aktif milik thread saat ini.
      * Jika node tidak ditemukan, akan otomatis membuat parent test baru.
      *
      * @return {@link ExtentTest} instance node atau parent test jika node tidak ditemukan.
      */
-    @SuppressWarnings("deprecation")
-	public static synchronized ExtentTest getNode() {
-    	 ExtentTest node = nodeTestMap.get(Thread.currentThread().getId());
-    	 if (node == null) {
-    	        ExtentTest parent = getTest();
-    	        if (parent == null) {
+	public static ExtentTest getNode() {
+    	 TestContext context = TestContext.get();
+    	 if (context.node == null) {
+    	        if (context.test == null) {
     	            // create parent test otomatis jika hilang
-    	            parent = ExtentReportsManager.getExtentReports().createTest("Unnamed Test");
-    	            parentTestMap.put(Thread.currentThread().getId(), parent);
+    	            context.test = ExtentReportsManager.getExtentReports().createTest("Unnamed Test");
     	        }
-    	        return parent;
+    	        return context.test;
     	    }
-    	    return node;
+    	    return context.node;
     }
     
     
@@ -117,7 +102,7 @@ public class ExtentNode {
      *
      * @param message Pesan yang akan ditampilkan di report.
      */
-    public static synchronized void addInfo(String message) {
+    public static void addInfo(String message) {
         getNode().info(message);
     }
 
@@ -128,7 +113,7 @@ public class ExtentNode {
      *
      * @param path Path file screenshot.
      */
-    public static synchronized void addScreenshot(String path) {
+    public static void addScreenshot(String path) {
         try {
             getNode().addScreenCaptureFromPath(path);
         } catch (Exception e) {
@@ -137,4 +122,3 @@ public class ExtentNode {
     }
 
 }
-
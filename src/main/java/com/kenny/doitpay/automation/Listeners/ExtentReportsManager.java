@@ -41,7 +41,14 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
 
 public class ExtentReportsManager {
 
-	static ExtentReports extent;
+	static volatile ExtentReports extent;
+
+	/** Direktori output report (HTML dan folder screenshots/) */
+	static final String REPORT_DIR = System.getProperty("user.dir") + "/reports/summary-report/";
+
+	/** Nama run (tanpa ekstensi), dipakai bersama oleh report Extent dan {@link StreamingReport} */
+	static final String RUN_NAME = "Regression "
+			+ new java.text.SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new java.util.Date());
 
 
 
@@ -61,15 +68,25 @@ public class ExtentReportsManager {
 
 	public static ExtentReports getExtentReports() {
 
+		// Double-checked: setelah instance dibuat, pemanggilan tidak lagi mengambil lock
 		if (extent == null) {
-            String reportDir = System.getProperty("user.dir") + "/reports/summary-report/";
+			synchronized (ExtentReportsManager.class) {
+				if (extent == null) {
+					extent = createExtentReports();
+				}
+			}
+		}
+        return extent;
+	}
+
+	private static ExtentReports createExtentReports() {
+            String reportDir = REPORT_DIR;
             File directory = new File(reportDir);
             if (!directory.exists()) {
                 directory.mkdirs();
             }
 
-            String timeStamp = new java.text.SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new java.util.Date());
-            String reportPath = reportDir  + " Regression " + timeStamp + ".html";
+            String reportPath = reportDir  + " " + RUN_NAME + ".html";
 
             ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
             spark.config().setDocumentTitle("Automation Sales4u");
@@ -77,12 +94,11 @@ public class ExtentReportsManager {
             spark.config().setTheme(Theme.DARK);
             spark.config().thumbnailForBase64(true);
 
-            extent = new ExtentReports();
-            extent.attachReporter(spark);
-            extent.setSystemInfo("Tester", System.getProperty("user.name"));
-            extent.setSystemInfo("Environment", "UAT");
-        }
-        return extent;
+            ExtentReports reports = new ExtentReports();
+            reports.attachReporter(spark);
+            reports.setSystemInfo("Tester", System.getProperty("user.name"));
+            reports.setSystemInfo("Environment", "UAT");
+            return reports;
 	}
 
 }
@@ -0,0 +1,183 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.kenny.doitpay.automation.Helper.JsonHelper;
+
+/**
+ * <h1>ExtentSink</h1>
+ * Sink {@link ReportBus} untuk Extent Report. Node step, markup label, dan pretty print
+ * body API dibuat di thread sink, bukan di thread test.
+ *
+ * <p>
+ * Node per test disimpan berdasarkan id test dan dilepas begitu test selesai. Event test yang
+ * berbeda diproses bersamaan di lane {@link ReportBus} yang berbeda (seperti test paralel yang
+ * dulu menulis langsung ke Extent); node satu test hanya disentuh oleh satu lane. Pada
+ * <code>REPORT_MODE=stream</code> test juga dilepas dari {@link ExtentReports} agar
+ * memori tidak bertambah seiring jumlah test.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+class ExtentSink implements ReportSink {
+
+    private final ExtentReports extent = ExtentReportsManager.getExtentReports();
+
+    private final Map<Long, TestNodes> tests = new ConcurrentHashMap<>();
+
+    /** Test ringkasan per nama; dibuat ulang setiap onFinish agar hanya ada satu per report */
+    private final Map<String, ExtentTest> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public void accept(ReportEvent event) {
+        switch (event.type) {
+            case TEST_START:
+                tests.put(event.testId, new TestNodes(
+                        event.extentNode != null ? event.extentNode : extent.createTest(event.name)));
+                break;
+            case STEP:
+                String stepMessage = "STEP " + event.step + ": " + event.name;
+                nodes(event).createStep(event.step,
+                        MarkupHelper.createLabel(stepMessage, ExtentColor.BLACK).getMarkup());
+                break;
+            case LOG:
+                log(event);
+                break;
+            case SCREENSHOT:
+                event.screenshot.attachToExtent(nodes(event).target(event.step));
+                break;
+            case API_REQUEST:
+                logRequest(event);
+                break;
+            case API_RESPONSE:
+                logResponse(event);
+                break;
+            case TEST_END:
+                TestNodes ended = tests.remove(event.testId);
+                if (ended != null) {
+                    if (event.error != null && "FAIL".equals(event.status)) {
+                        ended.current().fail(event.error);
+                    }
+                    if (StreamingReport.STREAM_ONLY) {
+                        extent.removeTest(ended.test);
+                    }
+                }
+                break;
+            case SYSTEM_INFO:
+                extent.setSystemInfo(event.name, event.message);
+                break;
+            case SUMMARY:
+                ExtentTest previous = summaries.remove(event.name);
+                if (previous != null) {
+                    extent.removeTest(previous);
+                }
+                ExtentTest summary = extent.createTest(event.name);
+                summary.info(MarkupHelper.createTable(event.table));
+                summaries.put(event.name, summary);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public boolean concurrentTests() {
+        return true;
+    }
+
+    private void log(ReportEvent event) {
+        TestNodes nodes = nodes(event);
+        ExtentTest node = nodes.target(event.step);
+        boolean onStep = node != nodes.test;
+        switch (event.status) {
+            case "PASS":
+                node.log(Status.PASS, MarkupHelper.createLabel(event.message, ExtentColor.GREEN).getMarkup());
+                break;
+            case "FAIL":
+                node.log(Status.FAIL, onStep
+                        ? MarkupHelper.createLabel(event.message, ExtentColor.RED).getMarkup() : event.message);
+                break;
+            case "WARNING":
+                node.log(Status.WARNING, event.message);
+                break;
+            default:
+                node.log(Status.INFO, onStep
+                        ? MarkupHelper.createLabel(event.message, ExtentColor.GREEN).getMarkup() : event.message);
+                break;
+        }
+    }
+
+    private void logRequest(ReportEvent event) {
+        ExtentTest parent = event.extentNode != null ? event.extentNode : nodes(event).target(event.step);
+        ExtentTest requestNode = parent.createNode(
+                MarkupHelper.createLabel("Request Info", ExtentColor.BLACK).getMarkup());
+
+        if (event.headers != null) {
+            requestNode.info("Headers: " + event.headers);
+        }
+
+        if (event.body != null && !event.body.isEmpty()) {
+            requestNode.info("Method: " + event.name);
+            requestNode.info("Endpoint: " + event.message);
+            requestNode.info(MarkupHelper.createLabel("Request Body:", ExtentColor.BLUE));
+            requestNode.info(MarkupHelper.createCodeBlock(JsonHelper.prettyPrint(event.body)));
+        }
+    }
+
+    private void logResponse(ReportEvent event) {
+        ExtentTest parent = event.extentNode != null ? event.extentNode : nodes(event).target(event.step);
+        ExtentTest responseNode = parent.createNode(
+                MarkupHelper.createLabel("Response Info", ExtentColor.BLACK).getMarkup());
+
+        responseNode.info("Status Code: " + event.statusCode);
+        if (event.headers != null) {
+            responseNode.info("Headers: " + event.headers);
+        }
+        if (event.body != null && !event.body.isEmpty()) {
+            responseNode.info(MarkupHelper.createLabel("Response Body:", ExtentColor.GREEN));
+            responseNode.info(MarkupHelper.createCodeBlock(JsonHelper.prettyPrint(event.body)));
+        }
+    }
+
+    /**
+     * Node milik test event ini. Event tanpa test (misalnya log di luar test method)
+     * ditulis ke test "Unnamed Test", sama seperti {@link ExtentNode#getNode()}.
+     */
+    private TestNodes nodes(ReportEvent event) {
+        return tests.computeIfAbsent(event.testId, id -> new TestNodes(extent.createTest("Unnamed Test")));
+    }
+
+    /** Test Extent beserta node step-nya, diindeks nomor step */
+    private static class TestNodes {
+        final ExtentTest test;
+        final Map<Integer, ExtentTest> steps = new HashMap<>();
+        ExtentTest currentStep;
+
+        TestNodes(ExtentTest test) {
+            this.test = test;
+        }
+
+        void createStep(int number, String markup) {
+            currentStep = test.createNode(markup);
+            steps.put(number, currentStep);
+        }
+
+        /** Node step dengan nomor tertentu, atau test jika belum ada step */
+        ExtentTest target(int step) {
+            ExtentTest node = steps.get(step);
+            return node != null ? node : test;
+        }
+
+        ExtentTest current() {
+            return currentStep != null ? currentStep : test;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.kenny.doitpay.automation.Listeners;
+
+/**
+ * <h1>JsonlSink</h1>
+ * Sink {@link ReportBus} yang meneruskan event ke {@link StreamingReport}
+ * (log <code>.events.jsonl</code> append-only + HTML incremental).
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+class JsonlSink implements ReportSink {
+
+    JsonlSink() {
+        StreamingReport.open(ExtentReportsManager.RUN_NAME);
+    }
+
+    @Override
+    public void accept(ReportEvent event) {
+        StreamingReport.write(event);
+    }
+
+    @Override
+    public void close() {
+        StreamingReport.close();
+    }
+}
@@ -1,18 +1,6 @@
 package com.kenny.doitpay.automation.Listeners;
 
 
-
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.markuputils.ExtentColor;
-import com.aventstack.extentreports.markuputils.MarkupHelper;
-import com.kenny.doitpay.automation.Helper.CustomCommand;
-import java.util.Base64;
-import java.io.ByteArrayInputStream;
-
-import io.qameta.allure.Allure;
-
-
 /**
  * <h1>LogHelper</h1>
  * class utilitas untuk membantu penulisan log ke dalam Extent Report.
@@ -32,8 +20,12 @@ import io.qameta.allure.Allure;
  * LogHelper.pass("Login berhasil");
  * </pre>
  *
- * <p>Kelas ini bekerja bersama {@link ExtentNode} untuk mencatat log dalam report.
- * Jika tidak ada step aktif, log akan ditulis langsung pada parent test.</p>
+ * <p>Counter dan step aktif disimpan per thread di {@link TestContext}, sehingga step dari test
+ * yang berjalan paralel tidak saling tercampur.</p>
+ *
+ * <p>Setiap log dipublikasikan sekali ke {@link ReportBus}; sink Extent, Allure, dan JSONL
+ * yang menuliskannya ke report masing-masing. Jika tidak ada step aktif, log akan ditulis
+ * langsung pada parent test.</p>
  *
  * @author Kenny Ramadhan
  * @version 1.0
@@ -42,46 +34,55 @@ import io.qameta.allure.Allure;
 
 public class LogHelper {
 	
-	 /** Counter otomatis untuk penomoran step */
-    private static int stepCounter = 1;
-    
-    /** Menyimpan node step yang sedang aktif */
-    private static ExtentTest currentStepNode;
-    
-    /** Nama test case saat ini (di-set dari TestListeners.onTestStart) */
-    private static String currentTestName;
-    
-    /**
-     * Gunakan method ini di Test Listener di method TestListeners.OnTestStart()
-     * @param testName
-     */
-    public static void setCurrentTestName(String testName) {
-        currentTestName = testName;
-    }
-    
-
     /**
      * Reset counter step ke 1.
      * 
      * <p>Gunakan di awal test case untuk memastikan step dimulai dari STEP 1.</p>
      */
     public static void resetCounter() {
-        stepCounter = 1;
+        TestContext context = TestContext.get();
+        context.stepCounter = 1;
+        context.currentStep = 0;
     }
     
     
- 
-    
     /**
      * Gunakan ini di setiap action 
      * @param message Input Nama Step
      */
     public static void step(String message) {
-        String stepMessage = "STEP " + stepCounter++ + ": " + message;
-        currentStepNode = ExtentNode.createNode(MarkupHelper.createLabel(stepMessage, ExtentColor.BLACK).getMarkup());
-        
-        Allure.step(message);
+        // Halaman yang dibuka oleh step sebelumnya (misalnya route SPA setelah klik) dicatat di step tersebut
+        PageMetrics.collect();
+        TestContext context = TestContext.get();
+        endStep(context);
+        context.currentStep = context.stepCounter++;
+        context.stepName = message;
+        context.stepStartNanos = System.nanoTime();
+        ExecutionLog.instant("step_start", message);
+        CommandTracer.startStep(context, message);
+        ReportBus.publish(ReportEvent.step(message));
+
+    }
+
 
+    /**
+     * Menutup step aktif: durasinya dicatat ke {@link StepStats}, {@link ExecutionLog}, {@link CommandTracer},
+     * dan {@link Timeline}, lalu dievaluasi terhadap {@link PerformanceBudget}.
+     * Dipanggil saat step berikutnya dimulai dan saat test selesai.
+     */
+    static void endStep(TestContext context) {
+        if (context.stepName == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - context.stepStartNanos;
+        StepStats.record(context.stepName, elapsed);
+        Timeline.step(context.stepName, context.stepStartNanos, now);
+        ExecutionLog.span("step_end", context.stepName, elapsed, null);
+        CommandTracer.endStep(context);
+        String stepName = context.stepName;
+        context.stepName = null;
+        PerformanceBudget.checkStep(stepName, elapsed);
     }
     
     
@@ -90,26 +91,15 @@ public class LogHelper {
      * @param message
      */
     public static void detail(String message) {
-        if (currentStepNode != null) {
-            currentStepNode.log(Status.INFO, MarkupHelper.createLabel(message, ExtentColor.GREEN).getMarkup());
+        ReportEvent event = ReportEvent.log("INFO", message);
+        if (event.step != 0) {
+            ReportBus.publish(event);
          
-            String screenshotBase64 = CustomCommand.captureScreenshotBase64(message);
-            
-            try {
-                if (screenshotBase64 != null) {
-                    // Embed base64 ke report (portable)
-                    currentStepNode.addScreenCaptureFromBase64String(screenshotBase64, message);
-                    
-                    byte[] decodedScreenshot = Base64.getDecoder().decode(screenshotBase64);
-                    Allure.addAttachment(message, new ByteArrayInputStream(decodedScreenshot));
-                 
-                }
-            } catch (Exception e) {
-                currentStepNode.warning("Gagal attach screenshot: " + e.getMessage());
-            }
+            // Screenshot sesuai SCREENSHOT_POLICY (langsung, sampling, atau ring buffer on-failure)
+            ScreenshotPolicy.onDetail(message);
         } else {
-            ExtentNode.getTest().log(Status.INFO, message);
-            Allure.step(message);
+            event.allureStep = true;
+            ReportBus.publish(event);
         }
     }
     
@@ -118,11 +108,7 @@ public class LogHelper {
      * @param message
      */
     public static void pass(String message) {
-        if (currentStepNode != null) {
-            currentStepNode.log(Status.PASS,  MarkupHelper.createLabel(message, ExtentColor.GREEN).getMarkup());
-        } else {
-            ExtentNode.getTest().log(Status.PASS,  MarkupHelper.createLabel(message, ExtentColor.GREEN).getMarkup());
-        }
+        ReportBus.publish(ReportEvent.log("PASS", message));
     }
     
     
@@ -131,11 +117,17 @@ public class LogHelper {
      * @param message
      */
     public static void fail(String message) {
-        if (currentStepNode != null) {
-            currentStepNode.log(Status.FAIL,  MarkupHelper.createLabel(message, ExtentColor.RED).getMarkup());
-        } else {
-            ExtentNode.getTest().log(Status.FAIL, message);
-        }
+        ReportBus.publish(ReportEvent.log("FAIL", message));
+    }
+
+
+    /**
+     * Mencatat informasi di level test (bukan di step aktif), misalnya statistik akhir test.
+     *
+     * @param message
+     */
+    public static void info(String message) {
+        ReportBus.publish(ReportEvent.testLog("INFO", message));
     }
 
     
@@ -0,0 +1,21 @@
+package com.kenny.doitpay.automation.Listeners;
+
+/**
+ * <h1>NoopSink</h1>
+ * Sink {@link ReportBus} yang membuang semua event (<code>REPORT_SINKS=none</code>),
+ * untuk run load / smoke yang tidak butuh report.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+class NoopSink implements ReportSink {
+
+    @Override
+    public void accept(ReportEvent event) {
+    }
+
+    @Override
+    public boolean concurrentTests() {
+        return true;
+    }
+}
@@ -0,0 +1,292 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import com.kenny.doitpay.automation.Config.WebDriverManager;
+
+/**
+ * <h1>PageMetrics</h1>
+ * Metrik performa sisi browser untuk setiap halaman yang dikunjungi: Navigation Timing (TTFB,
+ * DOMContentLoaded, load), Paint Timing (FCP), LCP dan CLS lewat {@code PerformanceObserver},
+ * serta CDP <code>Performance.getMetrics</code> (JS heap, jumlah DOM node, layout count).
+ *
+ * <p>
+ * Dikumpulkan setelah command navigasi (<code>get</code>, <code>navigate().to/back/forward/refresh</code>),
+ * di awal test, dan di setiap batas {@link LogHelper#step(String)}, sehingga halaman yang dibuka di
+ * {@code @BeforeMethod} dan perpindahan route SPA karena klik (inventory → cart → checkout) juga
+ * tercatat. Di luar test (misalnya navigasi di {@code @BeforeMethod}) tidak ada pengumpulan, agar
+ * log dan pelanggaran budget selalu masuk ke test yang sedang berjalan. Script hanya mengembalikan data jika URL berubah
+ * sejak pengumpulan terakhir; untuk route SPA, Navigation Timing/FCP/LCP milik dokumen awal
+ * tidak diulang.
+ * </p>
+ *
+ * <p>
+ * Metrik ditulis sebagai log di step yang sedang aktif dan diagregasi per URL (tanpa query/fragment)
+ * menjadi tabel "Page Metrics" di akhir suite. Pengumpulan memakai session asli (tanpa decorator),
+ * sehingga tidak ikut terhitung sebagai command test.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>PAGE_METRICS</code> — <code>false</code> untuk menonaktifkan (default <code>true</code>)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class PageMetrics {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("PAGE_METRICS", "true"));
+
+    /** Observer LCP &amp; CLS; dipasang di awal dokumen lewat CDP, atau saat pengumpulan pertama */
+    private static final String OBSERVER_SCRIPT =
+            "(function (w) {"
+            + "  if (w.__perfObs) { return; }"
+            + "  w.__perfObs = { lcp: 0, cls: 0 };"
+            + "  try { new PerformanceObserver(function (list) {"
+            + "    var entries = list.getEntries();"
+            + "    if (entries.length) { w.__perfObs.lcp = entries[entries.length - 1].startTime; }"
+            + "  }).observe({ type: 'largest-contentful-paint', buffered: true }); } catch (e) {}"
+            + "  try { new PerformanceObserver(function (list) {"
+            + "    list.getEntries().forEach(function (e) { if (!e.hadRecentInput) { w.__perfObs.cls += e.value; } });"
+            + "  }).observe({ type: 'layout-shift', buffered: true }); } catch (e) {}"
+            + "})(window);";
+
+    private static final String COLLECT_SCRIPT =
+            OBSERVER_SCRIPT
+            + "var w = window, href = location.href;"
+            + "if (w.__perfLastUrl === href) { return null; }"
+            + "w.__perfLastUrl = href;"
+            + "var r = { url: href, spa: !!w.__perfDocReported };"
+            + "if (!w.__perfDocReported) {"
+            + "  w.__perfDocReported = true;"
+            + "  var n = performance.getEntriesByType('navigation')[0];"
+            + "  if (n) {"
+            + "    r.ttfb = n.responseStart - n.startTime;"
+            + "    r.dcl = n.domContentLoadedEventEnd > 0 ? n.domContentLoadedEventEnd - n.startTime : null;"
+            + "    r.load = n.loadEventEnd > 0 ? n.loadEventEnd - n.startTime : null;"
+            + "  }"
+            + "  var p = performance.getEntriesByName('first-contentful-paint')[0];"
+            + "  if (p) { r.fcp = p.startTime; }"
+            + "  if (w.__perfObs.lcp) { r.lcp = w.__perfObs.lcp; }"
+            + "}"
+            + "r.cls = w.__perfObs.cls;"
+            + "return r;";
+
+    /** Urutan kolom: key hasil → label */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("ttfb", "TTFB (ms)");
+        COLUMNS.put("dcl", "DOMContentLoaded (ms)");
+        COLUMNS.put("load", "Load (ms)");
+        COLUMNS.put("fcp", "FCP (ms)");
+        COLUMNS.put("lcp", "LCP (ms)");
+        COLUMNS.put("cls", "CLS");
+        COLUMNS.put("heapMb", "JS heap (MB)");
+        COLUMNS.put("nodes", "DOM nodes");
+        COLUMNS.put("layouts", "Layouts");
+    }
+
+    /** Session yang sudah menyalakan domain CDP Performance dan observer di awal dokumen */
+    private static final Set<WebDriver> prepared = Collections.newSetFromMap(
+            Collections.synchronizedMap(new WeakHashMap<>()));
+
+    private static final Map<String, PageStats> stats = new ConcurrentHashMap<>();
+
+    private PageMetrics() {
+    }
+
+    /**
+     * Mengumpulkan metrik halaman saat ini jika URL berubah sejak pengumpulan terakhir, lalu
+     * mencatatnya di step aktif. Tidak melakukan apa-apa jika tidak ada driver (misalnya test API)
+     * atau belum ada test yang dimulai di thread ini.
+     */
+    public static void collect() {
+        if (!ENABLED || TestContext.get().testId == 0) {
+            return;
+        }
+        WebDriver driver = WebDriverManager.getRawDriver();
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        TimeBreakdown.begin(TimeBreakdown.Category.METRICS);
+        try {
+            prepare(driver);
+            Object result = ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT);
+            if (!(result instanceof Map)) {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> page = new LinkedHashMap<>((Map<String, Object>) result);
+            if (driver instanceof HasCdp) {
+                readCdpMetrics((HasCdp) driver, page);
+            }
+            String url = String.valueOf(page.get("url"));
+            stats.computeIfAbsent(normalize(url), k -> new PageStats()).record(page);
+            ReportBus.publish(ReportEvent.log("INFO", describe(url, page)));
+            PerformanceBudget.checkPage(url, page);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal membaca page metrics: " + e.getMessage());
+        } finally {
+            TimeBreakdown.end();
+        }
+    }
+
+    /**
+     * @return true jika sudah ada halaman yang tercatat
+     */
+    public static boolean hasData() {
+        return !stats.isEmpty();
+    }
+
+    /**
+     * Tabel rata-rata per URL untuk {@link ReportEvent#summary(String, String[][])}.
+     */
+    static String[][] toTable() {
+        Map<String, PageStats> sorted = new TreeMap<>(stats);
+        String[][] table = new String[sorted.size() + 1][];
+        table[0] = new String[COLUMNS.size() + 2];
+        table[0][0] = "URL";
+        table[0][1] = "Visits";
+        int column = 2;
+        for (String label : COLUMNS.values()) {
+            table[0][column++] = label;
+        }
+        int row = 1;
+        for (Map.Entry<String, PageStats> entry : sorted.entrySet()) {
+            String[] cells = new String[COLUMNS.size() + 2];
+            cells[0] = entry.getKey();
+            cells[1] = String.valueOf(entry.getValue().visits.sum());
+            column = 2;
+            for (String key : COLUMNS.keySet()) {
+                cells[column++] = entry.getValue().average(key);
+            }
+            table[row++] = cells;
+        }
+        return table;
+    }
+
+    /**
+     * Menyalakan domain CDP Performance dan memasang observer LCP/CLS di awal setiap dokumen baru,
+     * sekali per session.
+     */
+    private static void prepare(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || !prepared.add(driver)) {
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Performance.enable", Map.of());
+        cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", OBSERVER_SCRIPT));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readCdpMetrics(HasCdp driver, Map<String, Object> page) {
+        Object metrics = driver.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+        if (!(metrics instanceof List)) {
+            return;
+        }
+        for (Map<String, Object> metric : (List<Map<String, Object>>) metrics) {
+            Object value = metric.get("value");
+            if (!(value instanceof Number)) {
+                continue;
+            }
+            switch (String.valueOf(metric.get("name"))) {
+                case "JSHeapUsedSize":
+                    page.put("heapMb", ((Number) value).doubleValue() / (1024 * 1024));
+                    break;
+                case "Nodes":
+                    page.put("nodes", value);
+                    break;
+                case "LayoutCount":
+                    page.put("layouts", value);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static String describe(String url, Map<String, Object> page) {
+        StringBuilder sb = new StringBuilder("Page metrics");
+        if (Boolean.TRUE.equals(page.get("spa"))) {
+            sb.append(" (SPA)");
+        }
+        sb.append(" [").append(url).append("]:");
+        boolean first = true;
+        for (Map.Entry<String, String> column : COLUMNS.entrySet()) {
+            Object value = page.get(column.getKey());
+            if (value instanceof Number) {
+                sb.append(first ? " " : ", ").append(column.getValue()).append(' ').append(format(column.getKey(), (Number) value));
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String format(String key, Number value) {
+        switch (key) {
+            case "cls":
+                return String.format("%.3f", value.doubleValue());
+            case "heapMb":
+                return String.format("%.1f", value.doubleValue());
+            default:
+                return String.valueOf(Math.round(value.doubleValue()));
+        }
+    }
+
+    /** URL tanpa query dan fragment, agar kunjungan ke halaman yang sama teragregasi */
+    private static String normalize(String url) {
+        int end = url.length();
+        int query = url.indexOf('?');
+        int fragment = url.indexOf('#');
+        if (query >= 0) {
+            end = Math.min(end, query);
+        }
+        if (fragment >= 0) {
+            end = Math.min(end, fragment);
+        }
+        return url.substring(0, end);
+    }
+
+    private static class PageStats {
+        final LongAdder visits = new LongAdder();
+        final Map<String, double[]> sums = new ConcurrentHashMap<>();
+
+        void record(Map<String, Object> page) {
+            visits.increment();
+            for (String key : COLUMNS.keySet()) {
+                Object value = page.get(key);
+                if (value instanceof Number) {
+                    double[] sum = sums.computeIfAbsent(key, k -> new double[2]);
+                    synchronized (sum) {
+                        sum[0] += ((Number) value).doubleValue();
+                        sum[1]++;
+                    }
+                }
+            }
+        }
+
+        String average(String key) {
+            double[] sum = sums.get(key);
+            if (sum == null) {
+                return "-";
+            }
+            synchronized (sum) {
+                return sum[1] == 0 ? "-" : format(key, sum[0] / sum[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <h1>PerformanceBudget</h1>
+ * Budget performa deklaratif yang dievaluasi otomatis selama test berjalan, misalnya LCP halaman
+ * inventory &lt; 1.5 s, checkout dari keranjang &lt; 8 s, atau JS heap &lt; 50 MB.
+ *
+ * <p>
+ * Budget dibaca dari <code>Resources/performance-budgets.json</code>. Setiap budget punya
+ * <code>type</code>:
+ * </p>
+ * <ul>
+ *   <li><code>page</code> — metrik {@link PageMetrics} (<code>ttfb</code>, <code>dcl</code>, <code>load</code>,
+ *   <code>fcp</code>, <code>lcp</code>, <code>cls</code>, <code>heapMb</code>, <code>nodes</code>,
+ *   <code>layouts</code>) untuk URL yang cocok dengan <code>url</code></li>
+ *   <li><code>step</code> — durasi (ms) step {@link LogHelper} yang cocok dengan <code>step</code></li>
+ *   <li><code>test</code> — durasi (ms) test method yang cocok dengan <code>test</code>, diukur dari
+ *   onTestStart (setelah <code>@BeforeMethod</code>). Test yang dimulai dari {@code BrowserCheckpoint}
+ *   hanya mengukur langkah setelah checkpoint, kecuali eksekusi pertama yang membuat checkpoint.</li>
+ * </ul>
+ * <p>
+ * Pola memakai wildcard <code>*</code>; <code>class</code> (opsional) membatasi budget ke test class
+ * tertentu. Contoh:
+ * </p>
+ * <pre>
+ * { "name": "Inventory LCP", "type": "page", "url": "*&#47;inventory.html", "metric": "lcp", "max": 1500 }
+ * </pre>
+ *
+ * <p>
+ * Budget yang terlampaui bukan kegagalan fungsional: dicatat sebagai <code>WARNING</code> di step/test
+ * (status terpisah di Extent Report). Di akhir suite, tabel "Performance Budgets" menampilkan
+ * distribusi nilai terukur (p50/p90/max) dari semua test dan baris DataProvider.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>PERF_BUDGETS</code> — path file budget, atau <code>false</code> untuk menonaktifkan</li>
+ *   <li><code>PERF_BUDGET_MODE</code> — <code>warn</code> (default) atau <code>fail</code> untuk menggagalkan
+ *   test yang melanggar budget</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class PerformanceBudget {
+
+    private static final String DEFAULT_FILE = System.getProperty("user.dir")
+            + "/src/main/java/com/kenny/doitpay/automation/Resources/performance-budgets.json";
+
+    private static final String FILE = System.getProperty("PERF_BUDGETS", DEFAULT_FILE);
+
+    public static final boolean FAIL_ON_BREACH = "fail".equalsIgnoreCase(System.getProperty("PERF_BUDGET_MODE", "warn"));
+
+    private static final List<Budget> budgets = load();
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * @return true jika ada budget yang dimuat
+     */
+    public static boolean isEnabled() {
+        return !budgets.isEmpty();
+    }
+
+    /**
+     * Mengevaluasi budget <code>page</code> terhadap metrik satu kunjungan halaman.
+     */
+    static void checkPage(String url, Map<String, Object> metrics) {
+        for (Budget budget : budgets) {
+            if ("page".equals(budget.type) && budget.matches(url) && metrics.get(budget.metric) instanceof Number) {
+                budget.check(((Number) metrics.get(budget.metric)).doubleValue(), url);
+            }
+        }
+    }
+
+    /**
+     * Mengevaluasi budget <code>step</code> untuk step yang baru selesai.
+     */
+    static void checkStep(String stepName, long elapsedNanos) {
+        for (Budget budget : budgets) {
+            if ("step".equals(budget.type) && budget.matches(stepName)) {
+                budget.check(elapsedNanos / 1e6, stepName);
+            }
+        }
+    }
+
+    /**
+     * Mengevaluasi budget <code>test</code> untuk test method yang baru selesai.
+     */
+    static void checkTest(String testName, long elapsedNanos) {
+        for (Budget budget : budgets) {
+            if ("test".equals(budget.type) && budget.matches(testName)) {
+                budget.check(elapsedNanos / 1e6, testName);
+            }
+        }
+    }
+
+    /**
+     * Mengambil lalu me-reset pelanggaran budget milik test di thread saat ini.
+     *
+     * @return pesan pelanggaran, kosong jika tidak ada
+     */
+    public static List<String> drainBreaches() {
+        TestContext context = TestContext.get();
+        List<String> breaches = context.budgetBreaches;
+        context.budgetBreaches = new ArrayList<>();
+        return breaches;
+    }
+
+    /**
+     * Tabel distribusi per budget untuk {@link ReportEvent#summary(String, String[][])}.
+     */
+    static String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] { "Budget", "Limit", "Samples", "Breaches", "p50", "p90", "Max", "Status" });
+        for (Budget budget : budgets) {
+            List<Double> samples;
+            synchronized (budget.samples) {
+                samples = new ArrayList<>(budget.samples);
+            }
+            if (samples.isEmpty()) {
+                continue;
+            }
+            Collections.sort(samples);
+            rows.add(new String[] { budget.name, "< " + format(budget.max), String.valueOf(samples.size()),
+                    String.valueOf(budget.breaches), format(percentile(samples, 0.50)), format(percentile(samples, 0.90)),
+                    format(samples.get(samples.size() - 1)), budget.breaches > 0 ? "BREACHED" : "OK" });
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        int index = (int) Math.ceil(sorted.size() * p) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e12 ? String.valueOf((long) value) : String.format("%.1f", value);
+    }
+
+    private static List<Budget> load() {
+        if ("false".equalsIgnoreCase(FILE)) {
+            return Collections.emptyList();
+        }
+        File file = new File(FILE);
+        if (!file.exists()) {
+            if (!FILE.equals(DEFAULT_FILE)) {
+                System.out.println("[WARNING] File performance budget tidak ditemukan: " + FILE);
+            }
+            return Collections.emptyList();
+        }
+        List<Budget> loaded = new ArrayList<>();
+        try {
+            JsonNode root = new ObjectMapper().readTree(file);
+            for (JsonNode node : root.path("budgets")) {
+                String type = node.path("type").asText();
+                String pattern = node.path("page".equals(type) ? "url" : type).asText("*");
+                if (!node.has("max") || !List.of("page", "step", "test").contains(type)) {
+                    System.out.println("[WARNING] Performance budget tidak valid, dilewati: " + node);
+                    continue;
+                }
+                loaded.add(new Budget(node.path("name").asText(type + " " + pattern), type, pattern,
+                        node.path("metric").asText(null), node.path("class").asText(null), node.get("max").asDouble()));
+            }
+        } catch (IOException e) {
+            System.out.println("[WARNING] Gagal membaca performance budget: " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static Pattern glob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static class Budget {
+        final String name;
+        final String type;
+        final Pattern pattern;
+        final String metric;
+        final Pattern testClass;
+        final double max;
+        final List<Double> samples = new ArrayList<>();
+        volatile int breaches;
+
+        Budget(String name, String type, String pattern, String metric, String testClass, double max) {
+            this.name = name;
+            this.type = type;
+            this.pattern = glob(pattern);
+            this.metric = metric;
+            this.testClass = testClass != null ? glob(testClass) : null;
+            this.max = max;
+        }
+
+        boolean matches(String subject) {
+            if (testClass != null) {
+                String current = TestContext.get().testClass;
+                if (current == null || !testClass.matcher(current).matches()) {
+                    return false;
+                }
+            }
+            return pattern.matcher(subject).matches()
+                    || ("step".equals(type) && pattern.matcher(StepStats.template(subject)).matches());
+        }
+
+        void check(double value, String subject) {
+            synchronized (samples) {
+                samples.add(value);
+            }
+            if (value < max) {
+                return;
+            }
+            synchronized (this) {
+                breaches++;
+            }
+            String message = "Performance budget terlampaui: " + name + " = " + format(value)
+                    + " (batas < " + format(max) + ") pada " + subject;
+            TestContext.get().budgetBreaches.add(message);
+            ReportBus.publish(ReportEvent.log("WARNING", message));
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+/**
+ * <h1>ReportBus</h1>
+ * Satu pintu untuk semua event report. {@link LogHelper}, {@link ApiLogHelper}, dan
+ * {@link TestListeners} cukup mempublikasikan event sekali; setiap sink (Extent, Allure,
+ * JSONL, no-op) mengonsumsi event dari queue terbatas miliknya di thread terpisah.
+ *
+ * <p>
+ * Sink yang mendukung {@link ReportSink#concurrentTests()} (Extent, Allure, no-op) punya
+ * beberapa lane: event dibagi ke lane berdasarkan id test, sehingga event test yang berbeda
+ * diproses bersamaan sementara event satu test tetap berurutan di satu thread. Sink lain
+ * (JSONL) memakai satu lane agar urutan file tetap sama dengan urutan publish.
+ * </p>
+ *
+ * <p>
+ * Queue penuh membuat thread test menunggu (backpressure), sehingga tidak ada event yang
+ * hilang dan memori tetap terbatas. Di akhir setiap test, {@link #sync()} menunggu semua
+ * sink memproses event test tersebut (hanya lane milik test itu), sebelum AllureTestNg
+ * menutup test case.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>REPORT_SINKS</code> — daftar sink dipisah koma: <code>extent</code>, <code>allure</code>,
+ *       <code>jsonl</code>, atau <code>none</code> (default <code>extent,allure</code>, ditambah
+ *       <code>jsonl</code> jika <code>REPORT_MODE=both/stream</code>)</li>
+ *   <li><code>REPORT_QUEUE_SIZE</code> — kapasitas queue per sink (default 4096)</li>
+ *   <li><code>REPORT_SINK_THREADS</code> — jumlah lane per sink yang mendukung test paralel
+ *       (default jumlah CPU)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ReportBus {
+
+    private static final Set<String> SINKS = parseSinks(System.getProperty("REPORT_SINKS",
+            StreamingReport.ENABLED ? "extent,allure,jsonl" : "extent,allure"));
+
+    private static final int QUEUE_SIZE = Math.max(16, Integer.getInteger("REPORT_QUEUE_SIZE", 4096));
+
+    private static final int LANES = Math.max(1,
+            Integer.getInteger("REPORT_SINK_THREADS", Runtime.getRuntime().availableProcessors()));
+
+    /** Batas waktu menunggu sink sebelum report di-flush / JVM berhenti */
+    private static final long DRAIN_TIMEOUT_MS = 60_000;
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    /** Event terakhir yang dipublikasikan thread ini per lane, dipakai oleh {@link #sync()} */
+    private static final ThreadLocal<ReportEvent[]> lastPublished = ThreadLocal.withInitial(() -> new ReportEvent[LANES]);
+
+    private static final List<Channel> channels = createChannels();
+
+    private ReportBus() {
+    }
+
+    /**
+     * @param sink nama sink (<code>extent</code>, <code>allure</code>, <code>jsonl</code>)
+     * @return true jika sink aktif pada run ini
+     */
+    public static boolean isEnabled(String sink) {
+        return SINKS.contains(sink);
+    }
+
+    /**
+     * Mempublikasikan event ke semua sink aktif.
+     */
+    static void publish(ReportEvent event) {
+        TimeBreakdown.begin(TimeBreakdown.Category.REPORT);
+        try {
+            event.sequence = sequence.incrementAndGet();
+            event.pendingSinks(channels.size());
+            lastPublished.get()[lane(event.testId)] = event;
+            for (Channel channel : channels) {
+                channel.offer(event);
+            }
+        } finally {
+            TimeBreakdown.end();
+        }
+    }
+
+    /**
+     * Menunggu semua sink selesai memproses event yang sudah dipublikasikan thread ini.
+     */
+    public static void sync() {
+        ReportEvent[] last = lastPublished.get();
+        // Queue FIFO per lane: event terakhir di setiap lane selesai berarti semua event sebelumnya juga selesai
+        TimeBreakdown.begin(TimeBreakdown.Category.REPORT);
+        try {
+            long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+            for (int i = 0; i < last.length; i++) {
+                if (last[i] != null && !last[i].awaitSinks(deadline)) {
+                    System.out.println("[WARNING] Sink report belum selesai memproses event test");
+                }
+                last[i] = null;
+            }
+        } finally {
+            TimeBreakdown.end();
+        }
+    }
+
+    /**
+     * Menunggu semua sink selesai memproses semua event yang sudah dipublikasikan.
+     * Dipanggil sebelum report di-flush.
+     */
+    public static void flush() {
+        ReportEvent marker = ReportEvent.flush();
+        marker.pendingSinks(channels.stream().mapToInt(channel -> channel.lanes.length).sum());
+        for (Channel channel : channels) {
+            channel.broadcast(marker);
+        }
+        if (!marker.awaitSinks(System.currentTimeMillis() + DRAIN_TIMEOUT_MS)) {
+            System.out.println("[WARNING] Sink report belum selesai memproses semua event");
+        }
+    }
+
+    /**
+     * Mengisi UUID test case / step Allure yang aktif, jika sink Allure aktif.
+     */
+    static void captureAllureParent(ReportEvent event) {
+        if (!SINKS.contains("allure")) {
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (current.isPresent()) {
+            event.allureParent = current.get();
+            event.allureParentIsStep = !current.equals(lifecycle.getCurrentTestCase());
+        }
+    }
+
+    private static List<Channel> createChannels() {
+        List<Channel> created = new ArrayList<>();
+        for (String name : SINKS) {
+            ReportSink sink = createSink(name);
+            if (sink != null) {
+                created.add(new Channel(name, sink, QUEUE_SIZE, sink.concurrentTests() ? LANES : 1));
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            for (Channel channel : created) {
+                channel.sink.close();
+            }
+        }, "report-bus-close"));
+        return created;
+    }
+
+    private static ReportSink createSink(String name) {
+        switch (name) {
+            case "extent":
+                return new ExtentSink();
+            case "allure":
+                return new AllureSink();
+            case "jsonl":
+                return new JsonlSink();
+            case "none":
+                return new NoopSink();
+            default:
+                System.out.println("[WARNING] REPORT_SINKS tidak dikenal: " + name);
+                return null;
+        }
+    }
+
+    /** Lane untuk event milik test tertentu; event di luar test (id 0) selalu di lane 0 */
+    private static int lane(long testId) {
+        return (int) Math.floorMod(testId, (long) LANES);
+    }
+
+    private static Set<String> parseSinks(String value) {
+        Set<String> sinks = new LinkedHashSet<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                sinks.add(part.trim().toLowerCase());
+            }
+        }
+        return sinks;
+    }
+
+    /**
+     * Queue terbatas untuk satu sink, dibagi ke satu atau beberapa {@link Lane}. Tanpa lock:
+     * kapasitas dijaga {@link Semaphore} (CAS) bersama semua lane.
+     */
+    private static class Channel {
+        final String name;
+        final ReportSink sink;
+        final Semaphore capacity;
+        final Lane[] lanes;
+
+        Channel(String name, ReportSink sink, int capacity, int lanes) {
+            this.name = name;
+            this.sink = sink;
+            this.capacity = new Semaphore(capacity);
+            this.lanes = new Lane[lanes];
+            for (int i = 0; i < lanes; i++) {
+                this.lanes[i] = new Lane(this, lanes == 1 ? "report-sink-" + name : "report-sink-" + name + "-" + i);
+            }
+        }
+
+        void offer(ReportEvent event) {
+            if (acquire(event)) {
+                lanes[lane(event.testId) % lanes.length].offer(event);
+            }
+        }
+
+        /** Mengirim event ke semua lane; event harus menunggu sejumlah lane sink ini */
+        void broadcast(ReportEvent event) {
+            for (Lane lane : lanes) {
+                if (acquire(event)) {
+                    lane.offer(event);
+                }
+            }
+        }
+
+        private boolean acquire(ReportEvent event) {
+            try {
+                // Queue penuh: thread test menunggu (backpressure)
+                capacity.acquire();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                event.sinkDone();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Antrian + thread konsumen satu lane. Antrian memakai {@link ConcurrentLinkedQueue}, dan
+     * thread konsumen di-park saat antrian kosong.
+     */
+    private static class Lane implements Runnable {
+        final Channel channel;
+        final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+        final Thread consumer;
+        volatile boolean parked;
+
+        Lane(Channel channel, String threadName) {
+            this.channel = channel;
+            this.consumer = new Thread(this, threadName);
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        void offer(ReportEvent event) {
+            queue.offer(event);
+            if (parked) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                ReportEvent event = queue.poll();
+                if (event == null) {
+                    parked = true;
+                    // Cek ulang setelah flag di-set agar unpark dari offer() tidak terlewat
+                    if (queue.isEmpty()) {
+                        LockSupport.parkNanos(this, 100_000_000L);
+                    }
+                    parked = false;
+                    continue;
+                }
+                channel.capacity.release();
+                try {
+                    if (event.type != ReportEvent.Type.FLUSH) {
+                        channel.sink.accept(event);
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("[WARNING] Sink report '" + channel.name + "' gagal memproses " + event.type
+                            + ": " + e.getMessage());
+                } finally {
+                    event.sinkDone();
+                }
+            }
+        }
+    }
+}
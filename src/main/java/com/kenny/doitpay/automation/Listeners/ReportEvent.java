@@ -0,0 +1,188 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import com.aventstack.extentreports.ExtentTest;
+
+/**
+ * <h1>ReportEvent</h1>
+ * Satu event report yang dipublikasikan ke {@link ReportBus}. Semua informasi yang hanya
+ * tersedia di thread test (id test, nomor step, parent Allure, waktu) diambil saat event
+ * dibuat, sehingga sink bisa memprosesnya di thread lain.
+ *
+ * <p>
+ * Event bersifat immutable setelah dipublikasikan; pembuatan markup, pretty print body,
+ * dan encoding screenshot dikerjakan oleh masing-masing sink.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public final class ReportEvent {
+
+    public enum Type {
+        TEST_START, STEP, LOG, SCREENSHOT, API_REQUEST, API_RESPONSE, TEST_END, SYSTEM_INFO,
+        /** Tabel ringkasan di akhir suite (misalnya latency per step), menggantikan tabel dengan nama sama */
+        SUMMARY,
+        /** Penanda internal {@link ReportBus#flush()}, tidak diteruskan ke sink */
+        FLUSH
+    }
+
+    final Type type;
+    final long timestamp = System.currentTimeMillis();
+    final long threadId = Thread.currentThread().getId();
+    final long testId;
+    final int step;
+
+    /** Nama test / step / System Info, method HTTP, atau judul screenshot */
+    String name;
+    /** INFO, PASS, FAIL, WARNING, SKIP */
+    String status;
+    /** Isi log, endpoint, atau nilai System Info */
+    String message;
+    String headers;
+    String body;
+    int statusCode;
+    Throwable error;
+    ScreenshotPipeline.Screenshot screenshot;
+    /** SUMMARY: baris tabel, baris pertama = header */
+    String[][] table;
+
+    /** Node Extent eksplisit (misalnya dari {@link ApiLogHelper}), null = node aktif milik test */
+    ExtentTest extentNode;
+
+    /** UUID test case / step Allure yang aktif saat event dibuat, null jika tidak ada */
+    String allureParent;
+    boolean allureParentIsStep;
+
+    /** Nomor urut global, diisi saat dipublikasikan */
+    long sequence;
+
+    /** Jumlah sink yang belum selesai memproses event ini */
+    private int pendingSinks;
+
+    /** LOG: tampilkan juga sebagai step Allure (detail di luar step) */
+    boolean allureStep;
+
+    private ReportEvent(Type type) {
+        this(type, TestContext.get(), -1);
+    }
+
+    private ReportEvent(Type type, TestContext context, int step) {
+        this.type = type;
+        this.testId = context.testId;
+        this.step = step >= 0 ? step : context.currentStep;
+        ReportBus.captureAllureParent(this);
+    }
+
+    synchronized void pendingSinks(int count) {
+        pendingSinks = count;
+    }
+
+    synchronized void sinkDone() {
+        if (--pendingSinks <= 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Menunggu semua sink selesai memproses event ini.
+     *
+     * @param deadline batas waktu (epoch millis)
+     * @return false jika batas waktu terlewati
+     */
+    synchronized boolean awaitSinks(long deadline) {
+        while (pendingSinks > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static ReportEvent testStart(String name, ExtentTest test) {
+        ReportEvent event = new ReportEvent(Type.TEST_START);
+        event.name = name;
+        event.extentNode = test;
+        return event;
+    }
+
+    static ReportEvent step(String name) {
+        ReportEvent event = new ReportEvent(Type.STEP);
+        event.name = name;
+        return event;
+    }
+
+    static ReportEvent log(String status, String message) {
+        ReportEvent event = new ReportEvent(Type.LOG);
+        event.status = status;
+        event.message = message;
+        return event;
+    }
+
+    /**
+     * Log di level test (bukan di step aktif), misalnya statistik di akhir test.
+     */
+    static ReportEvent testLog(String status, String message) {
+        ReportEvent event = new ReportEvent(Type.LOG, TestContext.get(), 0);
+        event.status = status;
+        event.message = message;
+        return event;
+    }
+
+    static ReportEvent screenshot(ScreenshotPipeline.Screenshot screenshot, String title) {
+        ReportEvent event = new ReportEvent(Type.SCREENSHOT);
+        event.screenshot = screenshot;
+        event.name = title;
+        return event;
+    }
+
+    static ReportEvent apiRequest(ExtentTest node, String method, String endpoint, String headers, String body) {
+        ReportEvent event = new ReportEvent(Type.API_REQUEST);
+        event.extentNode = node;
+        event.name = method;
+        event.message = endpoint;
+        event.headers = headers;
+        event.body = body;
+        return event;
+    }
+
+    static ReportEvent apiResponse(ExtentTest node, int statusCode, String headers, String body) {
+        ReportEvent event = new ReportEvent(Type.API_RESPONSE);
+        event.extentNode = node;
+        event.statusCode = statusCode;
+        event.headers = headers;
+        event.body = body;
+        return event;
+    }
+
+    static ReportEvent testEnd(String status, Throwable error) {
+        ReportEvent event = new ReportEvent(Type.TEST_END);
+        event.status = status;
+        event.error = error;
+        return event;
+    }
+
+    static ReportEvent flush() {
+        return new ReportEvent(Type.FLUSH);
+    }
+
+    static ReportEvent systemInfo(String name, String value) {
+        ReportEvent event = new ReportEvent(Type.SYSTEM_INFO);
+        event.name = name;
+        event.message = value;
+        return event;
+    }
+
+    static ReportEvent summary(String name, String[][] table) {
+        ReportEvent event = new ReportEvent(Type.SUMMARY);
+        event.name = name;
+        event.table = table;
+        return event;
+    }
+}
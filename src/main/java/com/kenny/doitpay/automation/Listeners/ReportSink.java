@@ -0,0 +1,31 @@
+package com.kenny.doitpay.automation.Listeners;
+
+/**
+ * <h1>ReportSink</h1>
+ * Tujuan event {@link ReportBus}. Setiap sink punya queue dan thread sendiri. Event satu test
+ * selalu diproses oleh satu thread yang sama, berurutan sesuai urutan publish; event test yang
+ * berbeda hanya diproses bersamaan jika {@link #concurrentTests()} bernilai true.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+interface ReportSink {
+
+    /**
+     * Memproses satu event. Exception dicatat oleh {@link ReportBus} dan tidak menghentikan sink.
+     */
+    void accept(ReportEvent event);
+
+    /**
+     * @return true jika {@link #accept(ReportEvent)} aman dipanggil bersamaan untuk test yang berbeda
+     */
+    default boolean concurrentTests() {
+        return false;
+    }
+
+    /**
+     * Dipanggil sekali saat JVM berhenti, setelah semua event diproses.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,468 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.ScreenCapture;
+import com.kenny.doitpay.automation.Config.WebDriverManager;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+/**
+ * <h1>ScreenshotPipeline</h1>
+ * Pipeline screenshot asinkron untuk report. Thread test hanya melakukan capture
+ * (satu round trip ke browser) lalu langsung mendapat {@link Screenshot} handle;
+ * decode Base64, kompresi, dan penulisan attachment dikerjakan di executor background.
+ * Byte hasil encode dipakai bersama oleh Extent dan Allure sehingga tidak ada decode ganda,
+ * dan screenshot yang isinya sama hanya disimpan sekali ({@link ScreenshotStore}).
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>SCREENSHOT_FORMAT</code> — <code>png</code> (default), <code>jpeg</code>, atau <code>webp</code></li>
+ *   <li><code>SCREENSHOT_QUALITY</code> — kualitas 0-100 untuk jpeg/webp (default 80)</li>
+ *   <li><code>SCREENSHOT_CLIP</code> — area capture <code>x,y,width,height</code> dalam CSS pixel (default seluruh viewport)</li>
+ *   <li><code>SCREENSHOT_THREADS</code> — jumlah thread encoder (default 2)</li>
+ *   <li><code>SCREENSHOT_STORAGE</code> — <code>base64</code> (default, di-embed di HTML) atau <code>file</code>
+ *       (ditulis ke <code>reports/summary-report/screenshots/</code> di background, HTML hanya menyimpan path relatif
+ *       sehingga heap tidak bertambah seiring panjang suite)</li>
+ * </ul>
+ *
+ * <p>
+ * Di Chrome capture memakai CDP <code>Page.captureScreenshot</code> sehingga format,
+ * kualitas, dan clip diproses langsung oleh browser. Di browser lain capture memakai
+ * WebDriver (PNG) dan konversi ke JPEG dilakukan di background.
+ * </p>
+ *
+ * <p><b>Contoh Penggunaan:</b></p>
+ * <pre>
+ * Screenshot shot = ScreenshotPipeline.capture("Login berhasil");
+ * shot.attachToExtent(node);
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotPipeline {
+
+    public static final String FORMAT = System.getProperty("SCREENSHOT_FORMAT", "png").toLowerCase();
+
+    public static final int QUALITY = Integer.getInteger("SCREENSHOT_QUALITY", 80);
+
+    private static final double[] CLIP = parseClip(System.getProperty("SCREENSHOT_CLIP"));
+
+    private static final int THREADS = Integer.getInteger("SCREENSHOT_THREADS", 2);
+
+    /**
+     * <code>file</code>: screenshot ditulis ke folder report dan direferensikan lewat path relatif.
+     * Selalu aktif pada <code>REPORT_MODE=stream</code>, agar screenshot tidak ditahan di memori.
+     */
+    public static final boolean FILE_STORAGE = "file".equalsIgnoreCase(System.getProperty("SCREENSHOT_STORAGE", "base64"))
+            || StreamingReport.STREAM_ONLY;
+
+    /** Folder screenshot, relatif terhadap file HTML Extent */
+    private static final String SCREENSHOT_FOLDER = "screenshots/";
+
+    /** Batas waktu menunggu encoding yang masih berjalan sebelum report di-flush */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private static final ExecutorService encoder = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong encodes = new AtomicLong();
+    private static final AtomicLong captureNanos = new AtomicLong();
+    private static final AtomicLong encodeNanos = new AtomicLong();
+    private static final AtomicLong encodedBytes = new AtomicLong();
+
+    private ScreenshotPipeline() {
+    }
+
+    /**
+     * Mengambil screenshot dari driver aktif. Hanya capture yang berjalan di thread test;
+     * encoding berjalan di background begitu screenshot di-attach.
+     *
+     * @param title judul screenshot di report
+     * @return handle screenshot, atau null jika driver belum ada / capture gagal
+     */
+    public static Screenshot capture(String title) {
+        WebDriver driver = WebDriverManager.getDriver();
+        if (driver == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        String base64;
+        String format;
+        TimeBreakdown.begin(TimeBreakdown.Category.SCREENSHOT);
+        try {
+            if (driver instanceof HasCdp) {
+                base64 = captureWithCdp((HasCdp) driver);
+                format = FORMAT;
+            } else {
+                base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+                format = "png";
+            }
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal capture screenshot: " + e.getMessage());
+            return null;
+        } finally {
+            TimeBreakdown.end();
+        }
+        long elapsed = System.nanoTime() - start;
+        captures.incrementAndGet();
+        captureNanos.addAndGet(elapsed);
+        ExecutionLog.span("screenshot", title, elapsed, "ok");
+
+        return new Screenshot(title, base64, format);
+    }
+
+    /**
+     * Menunggu semua encoding dan penulisan attachment selesai. Dipanggil sebelum report di-flush.
+     */
+    public static void awaitPending() {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                    .get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Screenshot belum selesai di-encode: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return ringkasan statistik pipeline untuk System Info report
+     */
+    public static String getStats() {
+        long count = captures.get();
+        return "captures=" + count
+                + ", format=" + FORMAT
+                + ", avgCaptureMs=" + (count == 0 ? 0 : captureNanos.get() / count / 1_000_000)
+                + ", encoded=" + encodes.get()
+                + ", avgEncodeMs=" + (encodes.get() == 0 ? 0 : encodeNanos.get() / encodes.get() / 1_000_000)
+                + ", totalKB=" + encodedBytes.get() / 1024;
+    }
+
+    /**
+     * @return jumlah screenshot yang sudah di-capture selama run
+     */
+    public static long getCaptureCount() {
+        return captures.get();
+    }
+
+    /**
+     * @return jumlah referensi ke screenshot duplikat yang tidak disimpan ulang
+     */
+    public static long getDuplicateCount() {
+        return ScreenshotStore.getDuplicateCount();
+    }
+
+    /**
+     * @return ringkasan deduplikasi (jumlah unik, duplikat, dan byte yang dihemat)
+     */
+    public static String getDedupStats() {
+        return ScreenshotStore.getStats();
+    }
+
+    static void track(CompletableFuture<?> future) {
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+    }
+
+    private static String captureWithCdp(HasCdp driver) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", FORMAT);
+        if (!"png".equals(FORMAT)) {
+            params.put("quality", QUALITY);
+        }
+        if (CLIP != null) {
+            params.put("clip", Map.of("x", CLIP[0], "y", CLIP[1], "width", CLIP[2], "height", CLIP[3], "scale", 1));
+        }
+        return String.valueOf(driver.executeCdpCommand("Page.captureScreenshot", params).get("data"));
+    }
+
+    private static Frame encode(String base64, String format) {
+        long start = System.nanoTime();
+        byte[] bytes = Base64.getDecoder().decode(base64);
+        String encoded = base64;
+        String mimeType = "image/" + format;
+
+        // Capture WebDriver selalu PNG: kompres ke JPEG di sini jika diminta
+        if ("png".equals(format) && "jpeg".equals(FORMAT)) {
+            try {
+                bytes = toJpeg(bytes);
+                encoded = Base64.getEncoder().encodeToString(bytes);
+                mimeType = "image/jpeg";
+            } catch (IOException e) {
+                System.out.println("[WARNING] Gagal konversi screenshot ke JPEG: " + e.getMessage());
+            }
+        }
+
+        encodes.incrementAndGet();
+        encodeNanos.addAndGet(System.nanoTime() - start);
+        encodedBytes.addAndGet(bytes.length);
+        return new Frame(bytes, FILE_STORAGE ? null : "data:" + mimeType + ";base64," + encoded);
+    }
+
+    private static void writeFile(Path target, byte[] bytes) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.write(target, bytes);
+        } catch (IOException e) {
+            System.out.println("[WARNING] Gagal menulis screenshot ke " + target + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] toJpeg(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.createGraphics().drawImage(source, 0, 0, null);
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(QUALITY / 100f);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static double[] parseClip(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            System.out.println("[WARNING] SCREENSHOT_CLIP harus berformat x,y,width,height: " + value);
+            return null;
+        }
+        double[] clip = new double[4];
+        for (int i = 0; i < 4; i++) {
+            clip[i] = Double.parseDouble(parts[i].trim());
+        }
+        return clip;
+    }
+
+    /** Hasil encoding yang dipakai bersama oleh semua sink */
+    static class Frame {
+        final byte[] bytes;
+        final String dataUri;
+
+        Frame(byte[] bytes, String dataUri) {
+            this.bytes = bytes;
+            this.dataUri = dataUri;
+        }
+    }
+
+    /**
+     * Handle screenshot hasil capture. Encoding dijadwalkan ke background saat pertama kali
+     * screenshot di-attach, sehingga screenshot yang tidak pernah dipakai (misalnya dibuang
+     * dari ring buffer {@link ScreenshotPolicy}) tidak pernah di-encode.
+     */
+    public static class Screenshot {
+        private final String title;
+        private final String mimeType;
+        private final long sizeBytes;
+        private String base64;
+        private final String format;
+        private CompletableFuture<Frame> frame;
+        private String fileName;
+        private ScreenshotStore.Entry entry;
+        private boolean duplicate;
+
+        Screenshot(String title, String base64, String format) {
+            this.title = title;
+            this.base64 = base64;
+            this.format = format;
+            this.sizeBytes = base64.length();
+            this.mimeType = "png".equals(format) && "jpeg".equals(FORMAT) ? "image/jpeg" : "image/" + format;
+        }
+
+        /**
+         * @return perkiraan memori yang dipakai screenshot sebelum di-encode (panjang Base64)
+         */
+        public long sizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * Mendaftarkan screenshot ke {@link ScreenshotStore} (sekali, sebelum Base64 dilepas ke encoder).
+         *
+         * @return entry content-addressed, atau null jika deduplikasi nonaktif
+         */
+        private synchronized ScreenshotStore.Entry entry() {
+            if (entry == null && ScreenshotStore.ENABLED && base64 != null) {
+                ScreenshotStore.Entry created = ScreenshotStore.register(base64);
+                duplicate = created.uses.getAndIncrement() > 0;
+                entry = created;
+                if (duplicate) {
+                    ScreenshotStore.recordDuplicate();
+                }
+            }
+            return entry;
+        }
+
+        /**
+         * Hasil encoding screenshot ini. Duplikat yang di-encode bersamaan dengan screenshot pertama
+         * memakai encoding yang sama; setelah encoding selesai, entry tidak lagi memegang frame.
+         */
+        private synchronized CompletableFuture<Frame> frame() {
+            if (frame == null) {
+                ScreenshotStore.Entry stored = entry();
+                String data = base64;
+                base64 = null;
+                frame = stored != null ? stored.frame(() -> encodeAsync(data)) : encodeAsync(data);
+            }
+            return frame;
+        }
+
+        private CompletableFuture<Frame> encodeAsync(String data) {
+            CompletableFuture<Frame> encoding = CompletableFuture.supplyAsync(() -> encode(data, format), encoder);
+            track(encoding);
+            return encoding;
+        }
+
+        /**
+         * Menambahkan screenshot ke node Extent. Extent hanya menyimpan media yang sudah punya
+         * path atau Base64 saat didaftarkan, sehingga method ini menunggu encoding screenshot ini
+         * selesai (hanya decode Base64, kecuali ada konversi ke JPEG).
+         *
+         * @param node node Extent tujuan
+         */
+        public void attachToExtent(ExtentTest node) {
+            if (FILE_STORAGE) {
+                attachAsFile(node);
+                return;
+            }
+            // Duplikat tetap tampil sebagai gambar; data URI-nya objek yang sama dengan screenshot pertama
+            ScreenshotStore.Entry stored = entry();
+            String dataUri = stored != null ? stored.dataUri : null;
+            if (dataUri == null) {
+                Frame encoded = awaitFrame(node);
+                if (encoded == null) {
+                    return;
+                }
+                dataUri = encoded.dataUri;
+            }
+            node.addScreenCaptureFromBase64String(dataUri, title);
+        }
+
+        /**
+         * Menunggu hasil encoding screenshot ini.
+         *
+         * @return frame hasil encoding, atau null (dengan warning di node) jika encoding gagal
+         */
+        private Frame awaitFrame(ExtentTest node) {
+            try {
+                return frame().get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                node.warning("Gagal attach screenshot: " + e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Mode file: nama file berdasarkan hash isi, sehingga duplikat cukup menunjuk file yang sama.
+         */
+        private void attachAsFile(ExtentTest node) {
+            String path = storeFile();
+            node.getModel().addMedia(ScreenCapture.builder().path(path).title(title).build());
+        }
+
+        /**
+         * Menulis screenshot ke folder report (sekali per screenshot; file dengan isi sama
+         * memakai nama yang sama) dan mengembalikan path relatifnya.
+         *
+         * @return path relatif terhadap folder report, misalnya <code>screenshots/&lt;hash&gt;.png</code>
+         */
+        synchronized String storeFile() {
+            if (fileName == null) {
+                ScreenshotStore.Entry stored = entry();
+                fileName = (stored != null ? stored.key : UUID.randomUUID().toString()) + extension();
+                if (stored == null || stored.fileStored.compareAndSet(false, true)) {
+                    Path target = Paths.get(ExtentReportsManager.REPORT_DIR, SCREENSHOT_FOLDER, fileName);
+                    track(frame().thenAccept(f -> writeFile(target, f.bytes)));
+                } else {
+                    ScreenshotStore.recordSkippedWrite(sizeBytes);
+                }
+            }
+            return SCREENSHOT_FOLDER + fileName;
+        }
+
+        private String extension() {
+            return "." + mimeType.substring("image/".length()).replace("jpeg", "jpg");
+        }
+
+        /**
+         * Menambahkan screenshot sebagai attachment Allure pada test case / step tertentu.
+         * Bisa dipanggil dari thread mana pun (misalnya {@link AllureSink}); file attachment
+         * ditulis di background.
+         *
+         * @param name         nama attachment
+         * @param parentUuid   UUID test case / step Allure tujuan
+         * @param parentIsStep true jika parent adalah step
+         */
+        void attachToAllure(String name, String parentUuid, boolean parentIsStep) {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            ScreenshotStore.Entry stored = entry();
+            boolean reuse = duplicate && stored.allureSource != null;
+            // Duplikat: attachment baru yang menunjuk ke file attachment screenshot pertama
+            String source = reuse ? stored.allureSource : UUID.randomUUID() + "-attachment" + extension();
+            Attachment attachment = new Attachment().setName(name).setType(mimeType).setSource(source);
+            if (parentIsStep) {
+                lifecycle.updateStep(parentUuid, step -> step.getAttachments().add(attachment));
+            } else {
+                lifecycle.updateTestCase(parentUuid, test -> test.getAttachments().add(attachment));
+            }
+
+            if (reuse) {
+                ScreenshotStore.recordSkippedWrite(sizeBytes);
+                return;
+            }
+            track(frame().thenAccept(f -> lifecycle.writeAttachment(source, new ByteArrayInputStream(f.bytes))));
+            if (stored != null && stored.allureSource == null) {
+                stored.allureSource = source;
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * <h1>ScreenshotPolicy</h1>
+ * Menentukan kapan {@link LogHelper#detail(String)} mengambil screenshot.
+ *
+ * <p><b>Mode (<code>SCREENSHOT_POLICY</code>):</b></p>
+ * <ul>
+ *   <li><code>always</code> (default) — setiap detail langsung di-attach ke Extent &amp; Allure</li>
+ *   <li><code>on-failure</code> — screenshot disimpan di ring buffer per thread dan hanya
+ *       di-attach jika test gagal; jika test lolos, buffer dibuang tanpa pernah di-encode</li>
+ *   <li><code>sampled</code> — hanya setiap detail ke-N per test (<code>SCREENSHOT_SAMPLE_EVERY</code>, default 5)</li>
+ *   <li><code>none</code> — tanpa screenshot per detail</li>
+ * </ul>
+ *
+ * <p>
+ * Ring buffer dibatasi dalam byte (<code>SCREENSHOT_RING_BYTES</code>, default 8 MB per thread),
+ * bukan jumlah frame: frame tertua dibuang sampai total ukuran di bawah batas (frame terbaru
+ * selalu disimpan).
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotPolicy {
+
+    public enum Mode {
+        ALWAYS, ON_FAILURE, SAMPLED, NONE
+    }
+
+    public static final Mode MODE = parseMode(System.getProperty("SCREENSHOT_POLICY", "always"));
+
+    private static final int SAMPLE_EVERY = Math.max(1, Integer.getInteger("SCREENSHOT_SAMPLE_EVERY", 5));
+
+    private static final long RING_BYTES = Long.getLong("SCREENSHOT_RING_BYTES", 8L * 1024 * 1024);
+
+    private static final ThreadLocal<Ring> ring = ThreadLocal.withInitial(Ring::new);
+
+    private ScreenshotPolicy() {
+    }
+
+    /**
+     * Dipanggil dari {@link LogHelper#detail(String)} setelah pesan detail dipublikasikan.
+     *
+     * @param message pesan detail, dipakai sebagai judul screenshot
+     */
+    static void onDetail(String message) {
+        Ring buffer = ring.get();
+        buffer.details++;
+
+        switch (MODE) {
+            case NONE:
+                return;
+            case SAMPLED:
+                if ((buffer.details - 1) % SAMPLE_EVERY != 0) {
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+
+        ScreenshotPipeline.Screenshot screenshot = ScreenshotPipeline.capture(message);
+        if (screenshot == null) {
+            return;
+        }
+
+        // Event dibuat sekarang agar tetap menunjuk ke step asalnya meskipun baru dipublikasikan nanti
+        ReportEvent event = ReportEvent.screenshot(screenshot, message);
+        if (MODE == Mode.ON_FAILURE) {
+            buffer.add(event);
+            return;
+        }
+        ReportBus.publish(event);
+    }
+
+    /**
+     * Reset buffer dan counter sampling di awal test.
+     */
+    static void startTest() {
+        ring.get().clear();
+        ring.get().details = 0;
+    }
+
+    /**
+     * Mempublikasikan frame di ring buffer (tetap menunjuk ke step asalnya) lalu mengosongkan buffer.
+     * Dipanggil saat test gagal, sebelum AllureTestNg menutup test case.
+     */
+    static void materialize() {
+        Ring buffer = ring.get();
+        if (buffer.frames.isEmpty()) {
+            return;
+        }
+        int dropped = buffer.dropped;
+        for (ReportEvent frame : buffer.frames) {
+            ReportBus.publish(frame);
+        }
+        if (dropped > 0) {
+            LogHelper.info(dropped + " screenshot lama dibuang dari ring buffer (batas "
+                    + RING_BYTES / 1024 + " KB)");
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Membuang frame di ring buffer (test lolos / skip).
+     */
+    static void discard() {
+        ring.get().clear();
+    }
+
+    /**
+     * @return true jika screenshot akhir test yang lolos perlu diambil
+     */
+    static boolean captureOnSuccess() {
+        return MODE == Mode.ALWAYS || MODE == Mode.SAMPLED;
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.out.println("[WARNING] SCREENSHOT_POLICY tidak dikenal: " + value + ", memakai 'always'");
+            return Mode.ALWAYS;
+        }
+    }
+
+    /** Ring buffer per thread, dibatasi total ukuran frame */
+    private static class Ring {
+        final Deque<ReportEvent> frames = new ArrayDeque<>();
+        long bytes;
+        int dropped;
+        int details;
+
+        void add(ReportEvent frame) {
+            frames.addLast(frame);
+            bytes += frame.screenshot.sizeBytes();
+            while (bytes > RING_BYTES && frames.size() > 1) {
+                bytes -= frames.removeFirst().screenshot.sizeBytes();
+                dropped++;
+            }
+        }
+
+        void clear() {
+            frames.clear();
+            bytes = 0;
+            dropped = 0;
+        }
+    }
+}
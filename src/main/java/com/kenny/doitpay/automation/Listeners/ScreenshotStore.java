@@ -0,0 +1,225 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+
+/**
+ * <h1>ScreenshotStore</h1>
+ * Registry screenshot berbasis isi (content-addressed) selama satu run. Screenshot yang
+ * isinya identik hanya ditulis sekali; kemunculan berikutnya memakai hasil screenshot pertama:
+ * file <code>screenshots/&lt;hash&gt;</code> yang sama (mode file), file attachment yang sama (Allure),
+ * atau objek data URI yang sama (Extent mode Base64, tetap di-embed di setiap kemunculan).
+ * Setiap kemunculan tetap tampil sebagai gambar di test/step-nya sendiri.
+ *
+ * <p>
+ * Entry hanya menyimpan metadata per hash. Hasil encoding (byte gambar) hanya dipegang selama
+ * encoding berjalan, agar duplikat yang datang bersamaan tidak di-encode ulang; setelah itu
+ * dilepas sehingga heap tidak bertambah seiring jumlah screenshot unik.
+ * </p>
+ *
+ * <p>
+ * Key adalah SHA-256 dari byte gambar hasil decode Base64. Encoder screenshot browser
+ * (PNG/JPEG dengan kualitas tetap) deterministik, sehingga byte yang sama berarti piksel
+ * yang sama dan piksel yang sama menghasilkan byte yang sama, tanpa perlu decode gambar.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>SCREENSHOT_DEDUP</code> — <code>false</code> untuk menonaktifkan deduplikasi (default <code>true</code>)</li>
+ *   <li><code>SCREENSHOT_DEDUP_DISTANCE</code> — batas jarak Hamming perceptual hash (dHash 64-bit)
+ *       untuk menganggap screenshot "hampir sama" sebagai duplikat (default 0 = hanya identik).
+ *       Nilai &gt; 0 butuh decode gambar di thread test.</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+class ScreenshotStore {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("SCREENSHOT_DEDUP", "true"));
+
+    private static final int MAX_DISTANCE = Integer.getInteger("SCREENSHOT_DEDUP_DISTANCE", 0);
+
+    /** Jumlah screenshot terakhir yang dibandingkan perceptual hash-nya */
+    private static final int RECENT_FOR_PERCEPTUAL = 64;
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private static final Deque<Entry> recent = new ArrayDeque<>();
+
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong savedBytes = new AtomicLong();
+
+    private ScreenshotStore() {
+    }
+
+    /**
+     * Mendaftarkan screenshot berdasarkan isinya.
+     *
+     * @param base64 data screenshot (Base64) hasil capture
+     * @return entry yang sudah ada jika screenshot ini duplikat, atau entry baru milik screenshot ini
+     */
+    static Entry register(String base64) {
+        String key = sha256(base64);
+        Entry created = new Entry(key);
+        Entry existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (MAX_DISTANCE > 0) {
+            created.dHash = dHash(base64);
+            synchronized (recent) {
+                for (Entry candidate : recent) {
+                    if (created.dHash != 0 && Long.bitCount(candidate.dHash ^ created.dHash) <= MAX_DISTANCE) {
+                        entries.put(key, candidate);
+                        return candidate;
+                    }
+                }
+                recent.addFirst(created);
+                if (recent.size() > RECENT_FOR_PERCEPTUAL) {
+                    recent.removeLast();
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Mencatat satu screenshot duplikat (sekali per capture).
+     */
+    static void recordDuplicate() {
+        duplicates.incrementAndGet();
+    }
+
+    /**
+     * Mencatat satu penulisan file/attachment yang dilewati karena isinya sudah ditulis.
+     *
+     * @param base64Length panjang Base64 screenshot duplikat
+     */
+    static void recordSkippedWrite(long base64Length) {
+        savedBytes.addAndGet(base64Length * 3 / 4);
+    }
+
+    /**
+     * @return ringkasan deduplikasi untuk System Info report
+     */
+    static String getStats() {
+        return "unique=" + entries.size()
+                + ", duplicates=" + duplicates.get()
+                + ", savedKB=" + savedBytes.get() / 1024;
+    }
+
+    static long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    /**
+     * @return jumlah entry yang sedang memegang hasil encoding (hanya selama encoding berjalan)
+     */
+    static long getRetainedFrameCount() {
+        return entries.values().stream().filter(Entry::holdsFrame).count();
+    }
+
+    /** SHA-256 dari byte gambar (bukan teks Base64-nya) */
+    private static String sha256(String base64) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(Base64.getDecoder().decode(base64));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Difference hash: gambar diperkecil ke 9x8 grayscale, bit = piksel kiri lebih terang dari kanan */
+    private static long dHash(String base64) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(base64)));
+            if (source == null) {
+                return 0;
+            }
+            BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+            small.createGraphics().drawImage(source.getScaledInstance(9, 8, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+
+            long hash = 0;
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    int left = small.getRaster().getSample(x, y, 0);
+                    int right = small.getRaster().getSample(x + 1, y, 0);
+                    hash = (hash << 1) | (left > right ? 1 : 0);
+                }
+            }
+            return hash;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /** Screenshot unik yang sudah terdaftar, beserta referensinya di masing-masing report */
+    static class Entry {
+        final String key;
+        long dHash;
+        /** Jumlah screenshot dengan isi ini; lebih dari 1 berarti duplikat */
+        final AtomicInteger uses = new AtomicInteger();
+        volatile String allureSource;
+        /** true setelah file <code>screenshots/&lt;key&gt;</code> dijadwalkan untuk ditulis */
+        final AtomicBoolean fileStored = new AtomicBoolean();
+        /** Data URI bersama (mode Base64); objek yang sama dengan yang di-embed di model Extent */
+        volatile String dataUri;
+        /** Encoding yang sedang berjalan; dilepas begitu selesai */
+        private CompletableFuture<ScreenshotPipeline.Frame> frame;
+
+        Entry(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Hasil encoding bersama untuk screenshot dengan isi ini yang di-encode bersamaan.
+         * Future yang dikembalikan selesai setelah entry melepas frame-nya, sehingga
+         * penulisan file/attachment yang menunggu future ini menjadi pemegang terakhir byte gambar.
+         *
+         * @param encoder memulai encoding jika tidak ada encoding dengan isi ini yang sedang berjalan
+         */
+        synchronized CompletableFuture<ScreenshotPipeline.Frame> frame(Supplier<CompletableFuture<ScreenshotPipeline.Frame>> encoder) {
+            if (frame == null) {
+                frame = encoder.get().whenComplete(this::release);
+                if (frame.isDone()) {
+                    CompletableFuture<ScreenshotPipeline.Frame> done = frame;
+                    frame = null;
+                    return done;
+                }
+            }
+            return frame;
+        }
+
+        private synchronized void release(ScreenshotPipeline.Frame encoded, Throwable error) {
+            if (encoded != null && encoded.dataUri != null) {
+                dataUri = encoded.dataUri;
+            }
+            frame = null;
+        }
+
+        synchronized boolean holdsFrame() {
+            return frame != null;
+        }
+    }
+}
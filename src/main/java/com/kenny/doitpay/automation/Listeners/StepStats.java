@@ -0,0 +1,253 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <h1>StepStats</h1>
+ * Histogram durasi per nama step {@link LogHelper#step(String)} untuk seluruh test dan baris
+ * DataProvider. Durasi step dihitung dari step dimulai sampai step berikutnya atau test selesai.
+ *
+ * <p>
+ * Histogram bergaya HDR: nilai 0-15 ms dicatat persis, di atasnya setiap rentang pangkat dua
+ * dibagi 16 sub-bucket (presisi ~6%). Pencatatan hanya berupa increment atomik tanpa lock.
+ * </p>
+ *
+ * <p>
+ * Nama step yang berisi data dinormalisasi menjadi template sebelum diagregasi, misalnya
+ * <code>Mulai proses login dengan user: standard_user</code> menjadi
+ * <code>Mulai proses login dengan user: {}</code>. Default: teks dalam tanda kutip, teks setelah
+ * <code>": "</code>, dan angka.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>STEP_TEMPLATE_PATTERNS</code> — regex dipisah <code>;;</code> yang match-nya diganti
+ *   <code>{}</code>, menggantikan pola default</li>
+ * </ul>
+ *
+ * <p>
+ * Ringkasan (p50/p90/p99/max) ditulis ke test "Step Latency" di Extent Report dan ke
+ * <code>reports/summary-report/&lt;run&gt;.steps.json</code>.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class StepStats {
+
+    /** Nilai di bawah ini dicatat persis; juga jumlah sub-bucket per rentang pangkat dua */
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    /** Rentang pangkat dua di atas SUB_BUCKETS ms (sampai ~2^31 ms) */
+    private static final int RANGES = 28;
+    private static final int BUCKETS = SUB_BUCKETS + RANGES * SUB_BUCKETS;
+
+    private static final String DEFAULT_PATTERNS = "\"[^\"]*\";;'[^']*';;(?<=: ).+$;;\\d+(?:[.,]\\d+)*";
+
+    private static final List<Pattern> TEMPLATE_PATTERNS = compile(
+            System.getProperty("STEP_TEMPLATE_PATTERNS", DEFAULT_PATTERNS));
+
+    private static final Map<String, Histogram> stats = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private StepStats() {
+    }
+
+    /**
+     * Mencatat durasi satu step yang sudah selesai.
+     *
+     * @param stepName     nama step seperti yang ditulis ke report
+     * @param elapsedNanos durasi step
+     */
+    static void record(String stepName, long elapsedNanos) {
+        stats.computeIfAbsent(template(stepName), k -> new Histogram()).record(elapsedNanos / 1_000_000);
+    }
+
+    /**
+     * Menormalisasi nama step menjadi template agregasi.
+     *
+     * @param stepName nama step
+     * @return template, misalnya <code>Memilih produk dengan nama: {}</code>
+     */
+    public static String template(String stepName) {
+        String template = stepName == null ? "" : stepName;
+        for (Pattern pattern : TEMPLATE_PATTERNS) {
+            template = pattern.matcher(template).replaceAll("{}");
+        }
+        return template;
+    }
+
+    /**
+     * @return true jika sudah ada step yang tercatat
+     */
+    public static boolean hasData() {
+        return !stats.isEmpty();
+    }
+
+    /**
+     * Ringkasan per template step, diurutkan berdasarkan nama.
+     *
+     * @return map template → teks ringkasan
+     */
+    public static Map<String, String> getSummary() {
+        Map<String, String> summary = new TreeMap<>();
+        stats.forEach((step, h) -> summary.put(step, h.describe()));
+        return summary;
+    }
+
+    /**
+     * Tabel ringkasan untuk {@link ReportEvent#summary(String, String[][])}.
+     */
+    static String[][] toTable() {
+        Map<String, Histogram> sorted = new TreeMap<>(stats);
+        String[][] table = new String[sorted.size() + 1][];
+        table[0] = new String[] { "Step", "Count", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Max (ms)", "Mean (ms)" };
+        int row = 1;
+        for (Map.Entry<String, Histogram> entry : sorted.entrySet()) {
+            Histogram h = entry.getValue();
+            table[row++] = new String[] { entry.getKey(), String.valueOf(h.count.sum()),
+                    String.valueOf(h.percentile(0.50)), String.valueOf(h.percentile(0.90)),
+                    String.valueOf(h.percentile(0.99)), String.valueOf(h.max.get()),
+                    String.valueOf(h.mean()) };
+        }
+        return table;
+    }
+
+    /**
+     * Menulis ringkasan dalam format JSON agar bisa dibandingkan antar build.
+     *
+     * @param file file tujuan
+     */
+    static void writeJson(Path file) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode steps = root.putArray("steps");
+        new TreeMap<>(stats).forEach((step, h) -> {
+            ObjectNode node = steps.addObject();
+            node.put("step", step);
+            node.put("count", h.count.sum());
+            node.put("p50Ms", h.percentile(0.50));
+            node.put("p90Ms", h.percentile(0.90));
+            node.put("p99Ms", h.percentile(0.99));
+            node.put("maxMs", h.max.get());
+            node.put("meanMs", h.mean());
+            ArrayNode buckets = node.putArray("histogram");
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = h.buckets.get(i);
+                if (count > 0) {
+                    buckets.addObject().put("leMs", upperMillis(i)).put("count", count);
+                }
+            }
+        });
+        try {
+            Files.createDirectories(file.getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+        } catch (IOException e) {
+            System.out.println("[WARNING] Gagal menulis step stats: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return file JSON ringkasan untuk run ini
+     */
+    static Path jsonFile() {
+        return Paths.get(ExtentReportsManager.REPORT_DIR, ExtentReportsManager.RUN_NAME + ".steps.json");
+    }
+
+    /**
+     * Menghapus semua statistik.
+     */
+    public static void reset() {
+        stats.clear();
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis < SUB_BUCKETS) {
+            return (int) Math.max(millis, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(millis);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (millis >> shift) - SUB_BUCKETS;
+        return Math.min(SUB_BUCKETS + shift * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /** Nilai terbesar (ms) yang masuk ke bucket */
+    private static long upperMillis(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    private static List<Pattern> compile(String patterns) {
+        List<Pattern> compiled = new ArrayList<>();
+        for (String pattern : patterns.split(";;")) {
+            if (!pattern.isBlank()) {
+                compiled.add(Pattern.compile(pattern));
+            }
+        }
+        return compiled;
+    }
+
+    private static class Histogram {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalMillis = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            max.accumulateAndGet(millis, Math::max);
+            buckets.incrementAndGet(bucketOf(millis));
+        }
+
+        long mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalMillis.sum() / n;
+        }
+
+        /** Percentile dengan presisi bucket, tidak melebihi max yang tercatat */
+        long percentile(double p) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return Math.min(upperMillis(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        String describe() {
+            return "count=" + count.sum()
+                    + ", p50<=" + percentile(0.50) + "ms"
+                    + ", p90<=" + percentile(0.90) + "ms"
+                    + ", p99<=" + percentile(0.99) + "ms"
+                    + ", max=" + max.get() + "ms";
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <h1>StreamingReport</h1>
+ * Backend report <i>append-only</i>: setiap event test (start, step, log, screenshot, selesai)
+ * langsung ditulis sebagai satu baris JSON ke file <code>.events.jsonl</code> dan di-flush,
+ * sehingga jika JVM crash report tetap berisi semua event sampai event terakhir.
+ *
+ * <p>
+ * HTML dirender secara incremental: begitu sebuah test selesai, fragment HTML-nya langsung
+ * di-append ke file <code>.stream.html</code>. Di memori hanya disimpan event milik test yang
+ * masih berjalan (dibatasi oleh jumlah thread paralel), sehingga waktu render linear terhadap
+ * jumlah event dan tetap stabil untuk 100k test.
+ * </p>
+ *
+ * <p>
+ * HTML juga bisa dirender ulang kapan saja dari file log, misalnya setelah crash:
+ * </p>
+ * <pre>
+ * java -cp target/classes:... com.kenny.doitpay.automation.Listeners.StreamingReport "reports/summary-report/Regression 2025-01-01_10-00-00.events.jsonl"
+ * </pre>
+ *
+ * <p>
+ * Event diterima dari {@link ReportBus} lewat {@link JsonlSink}, sehingga penulisan file
+ * tidak berjalan di thread test.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>REPORT_MODE</code> — <code>extent</code> (default), <code>both</code> (Extent + streaming),
+ *       atau <code>stream</code> (streaming saja; test Extent dilepas dari memori begitu selesai)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class StreamingReport {
+
+    private static final String MODE = System.getProperty("REPORT_MODE", "extent").toLowerCase();
+
+    /** Streaming aktif (<code>REPORT_MODE=both</code> atau <code>stream</code>) */
+    public static final boolean ENABLED = "both".equals(MODE) || "stream".equals(MODE);
+
+    /** Streaming saja: ExtentReports hanya menyimpan System Info, bukan pohon test */
+    public static final boolean STREAM_ONLY = "stream".equals(MODE);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Object lock = new Object();
+
+    private static Writer events;
+
+    private static Renderer renderer;
+
+    private static boolean closed;
+
+    private StreamingReport() {
+    }
+
+    /**
+     * Membuka file log dan HTML di samping report Extent.
+     *
+     * @param baseName nama dasar file, misalnya <code>"Regression 2025-01-01_10-00-00"</code>
+     */
+    static void open(String baseName) {
+        synchronized (lock) {
+            if (events != null) {
+                return;
+            }
+            try {
+                Path dir = Paths.get(ExtentReportsManager.REPORT_DIR);
+                Files.createDirectories(dir);
+                events = Files.newBufferedWriter(dir.resolve(baseName + ".events.jsonl"), StandardCharsets.UTF_8);
+                renderer = new Renderer(Files.newBufferedWriter(dir.resolve(baseName + ".stream.html"),
+                        StandardCharsets.UTF_8));
+                renderer.begin(baseName);
+                System.out.println("Streaming report: " + dir.resolve(baseName + ".stream.html"));
+            } catch (IOException e) {
+                System.out.println("[WARNING] Streaming report tidak bisa dibuka: " + e.getMessage());
+                events = null;
+                renderer = null;
+            }
+        }
+    }
+
+    /**
+     * Menulis satu event {@link ReportBus} sebagai satu baris JSON (dipanggil oleh {@link JsonlSink}).
+     */
+    static void write(ReportEvent event) {
+        ObjectNode node;
+        switch (event.type) {
+            case TEST_START:
+                node = event(event, "testStart").put("name", event.name);
+                break;
+            case STEP:
+                node = event(event, "step").put("name", event.name);
+                break;
+            case LOG:
+                node = event(event, "log").put("status", event.status).put("message", event.message);
+                break;
+            case SCREENSHOT:
+                node = event(event, "media").put("path", event.screenshot.storeFile()).put("title", event.name);
+                break;
+            case API_REQUEST:
+                node = event(event, "log").put("status", "INFO")
+                        .put("message", "API Request: " + event.name + " " + event.message);
+                break;
+            case API_RESPONSE:
+                node = event(event, "log").put("status", "INFO")
+                        .put("message", "API Response: " + event.statusCode);
+                break;
+            case TEST_END:
+                node = event(event, "testEnd").put("status", event.status);
+                if (event.error != null) {
+                    node.put("error", String.valueOf(event.error));
+                }
+                break;
+            case SYSTEM_INFO:
+                node = event(event, "systemInfo").put("name", event.name).put("value", event.message);
+                break;
+            default:
+                return;
+        }
+        append(node);
+    }
+
+    /**
+     * Menutup log dan HTML. Test yang belum selesai dirender dengan status INTERRUPTED.
+     * Dipanggil saat JVM berhenti ({@link JsonlSink#close()}), karena onFinish dipanggil
+     * sekali per &lt;test&gt; di suite.
+     */
+    static void close() {
+        synchronized (lock) {
+            if (events == null || closed) {
+                return;
+            }
+            closed = true;
+            try {
+                events.close();
+                renderer.end();
+            } catch (IOException e) {
+                System.out.println("[WARNING] Streaming report gagal ditutup: " + e.getMessage());
+            }
+        }
+    }
+
+    private static ObjectNode event(ReportEvent event, String type) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("type", type);
+        node.put("ts", event.timestamp);
+        node.put("test", event.testId);
+        node.put("thread", event.threadId);
+        return node;
+    }
+
+    private static void append(ObjectNode node) {
+        synchronized (lock) {
+            if (events == null || closed) {
+                return;
+            }
+            try {
+                events.write(MAPPER.writeValueAsString(node));
+                events.write('\n');
+                events.flush();
+                renderer.accept(node);
+            } catch (IOException e) {
+                System.out.println("[WARNING] Streaming report gagal menulis event: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Merender ulang HTML dari file log (satu kali baca, linear terhadap jumlah event).
+     *
+     * @param log  file <code>.events.jsonl</code>
+     * @param html file HTML tujuan
+     * @throws IOException jika file tidak bisa dibaca / ditulis
+     */
+    public static void render(Path log, Path html) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            Renderer offline = new Renderer(Files.newBufferedWriter(html, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+            String name = log.getFileName().toString().replace(".events.jsonl", "");
+            offline.begin(name);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    offline.accept(MAPPER.readTree(line));
+                } catch (IOException e) {
+                    // Baris terakhir bisa terpotong jika JVM crash saat menulis
+                    System.out.println("[WARNING] Baris log tidak valid dilewati: " + e.getMessage());
+                }
+            }
+            offline.end();
+        }
+    }
+
+    /**
+     * Render HTML on-demand: <code>StreamingReport &lt;file.events.jsonl&gt; [output.html]</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: StreamingReport <file.events.jsonl> [output.html]");
+            return;
+        }
+        Path log = Paths.get(args[0]);
+        Path html = args.length > 1 ? Paths.get(args[1])
+                : log.resolveSibling(log.getFileName().toString().replace(".events.jsonl", "") + ".stream.html");
+        render(log, html);
+        System.out.println("Report generated at: " + html.toAbsolutePath());
+    }
+
+    /**
+     * Mengubah event menjadi HTML. Event milik test yang masih berjalan ditahan di memori,
+     * lalu ditulis sekaligus begitu <code>testEnd</code> diterima.
+     */
+    private static class Renderer {
+
+        private static final String STYLE = "body{font-family:sans-serif;background:#1e1e1e;color:#ddd;margin:20px}"
+                + "details{border:1px solid #444;margin:4px 0;padding:4px 8px}"
+                + "summary{cursor:pointer}.PASS{color:#4caf50}.FAIL,.INTERRUPTED{color:#f44336}"
+                + ".SKIP,.WARNING{color:#ff9800}.INFO{color:#9e9e9e}.step{margin:4px 0 0 16px;font-weight:bold}"
+                + ".log{margin-left:32px}img{max-width:480px;display:block;margin:4px 0 4px 32px}"
+                + "pre{white-space:pre-wrap;color:#f44336}table{border-collapse:collapse}td{padding:2px 8px}";
+
+        private final Writer out;
+
+        private final Map<Long, List<JsonNode>> open = new HashMap<>();
+
+        private final Map<String, String> systemInfo = new LinkedHashMap<>();
+
+        private final Map<String, Integer> totals = new HashMap<>();
+
+        Renderer(Writer out) {
+            this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        }
+
+        void begin(String title) throws IOException {
+            out.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>" + escape(title)
+                    + "</title><style>" + STYLE + "</style></head><body><h2>" + escape(title) + "</h2>\n");
+            out.flush();
+        }
+
+        void accept(JsonNode event) throws IOException {
+            String type = event.path("type").asText();
+            long test = event.path("test").asLong();
+            if ("systemInfo".equals(type)) {
+                systemInfo.put(event.path("name").asText(), event.path("value").asText());
+                return;
+            }
+            if (test == 0) {
+                writeLog(event);
+                out.flush();
+                return;
+            }
+            if ("testStart".equals(type)) {
+                open.put(test, new ArrayList<>());
+            }
+            List<JsonNode> buffered = open.get(test);
+            if (buffered == null) {
+                return;
+            }
+            buffered.add(event);
+            if ("testEnd".equals(type)) {
+                open.remove(test);
+                writeTest(buffered, event.path("status").asText());
+                out.flush();
+            }
+        }
+
+        void end() throws IOException {
+            for (List<JsonNode> buffered : open.values()) {
+                writeTest(buffered, "INTERRUPTED");
+            }
+            open.clear();
+
+            out.write("<h3>Summary</h3><table>");
+            for (Map.Entry<String, Integer> total : totals.entrySet()) {
+                out.write("<tr><td class=\"" + total.getKey() + "\">" + total.getKey() + "</td><td>"
+                        + total.getValue() + "</td></tr>");
+            }
+            for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+                out.write("<tr><td>" + escape(info.getKey()) + "</td><td>" + escape(info.getValue()) + "</td></tr>");
+            }
+            out.write("</table></body></html>\n");
+            out.close();
+        }
+
+        private void writeTest(List<JsonNode> buffered, String status) throws IOException {
+            totals.merge(status, 1, Integer::sum);
+            JsonNode start = buffered.get(0);
+            JsonNode last = buffered.get(buffered.size() - 1);
+            long duration = last.path("ts").asLong() - start.path("ts").asLong();
+
+            out.write("<details" + ("PASS".equals(status) ? "" : " open") + "><summary><span class=\"" + status + "\">"
+                    + status + "</span> " + escape(start.path("name").asText()) + " (" + duration + " ms)</summary>");
+            int step = 1;
+            for (JsonNode event : buffered) {
+                switch (event.path("type").asText()) {
+                    case "step":
+                        out.write("<div class=\"step\">STEP " + step++ + ": " + escape(event.path("name").asText())
+                                + "</div>");
+                        break;
+                    case "log":
+                        writeLog(event);
+                        break;
+                    case "media":
+                        out.write("<img loading=\"lazy\" src=\"" + escape(event.path("path").asText()) + "\" title=\""
+                                + escape(event.path("title").asText("")) + "\">");
+                        break;
+                    case "testEnd":
+                        if (event.hasNonNull("error")) {
+                            out.write("<pre>" + escape(event.path("error").asText()) + "</pre>");
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            out.write("</details>\n");
+        }
+
+        private void writeLog(JsonNode event) throws IOException {
+            String status = event.path("status").asText("INFO");
+            out.write("<div class=\"log\"><span class=\"" + escape(status) + "\">" + escape(status) + "</span> "
+                    + escape(event.path("message").asText()) + "</div>");
+        }
+
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '<':
+                        escaped.append("&lt;");
+                        break;
+                    case '>':
+                        escaped.append("&gt;");
+                        break;
+                    case '&':
+                        escaped.append("&amp;");
+                        break;
+                    case '"':
+                        escaped.append("&quot;");
+                        break;
+                    default:
+                        escaped.append(c);
+                }
+            }
+            return escaped.toString();
+        }
+    }
+}
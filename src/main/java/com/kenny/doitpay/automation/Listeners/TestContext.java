@@ -0,0 +1,117 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aventstack.extentreports.ExtentTest;
+
+/**
+ * <h1>TestContext</h1>
+ * State report milik test yang sedang berjalan di thread saat ini: id test, nama, test &amp; node
+ * Extent, serta counter step {@link LogHelper}.
+ *
+ * <p>
+ * Disimpan di {@link ThreadLocal} biasa (bukan map berbasis Thread ID), sehingga tidak ada lock
+ * global di jalur logging dan tetap aman untuk virtual thread: setiap thread, termasuk virtual
+ * thread, punya context sendiri dan context dilepas di akhir test ({@link #end()}).
+ * </p>
+ *
+ * <p><b>Contoh Penggunaan:</b></p>
+ * <pre>
+ * TestContext.start("loginWithValidCredentials");
+ * LogHelper.step("Buka halaman login");   // memakai TestContext.get()
+ * TestContext.end();
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public final class TestContext {
+
+    private static final AtomicLong testIds = new AtomicLong();
+
+    private static final ThreadLocal<TestContext> current = ThreadLocal.withInitial(TestContext::new);
+
+    /** Id test untuk event {@link ReportBus}, 0 = tidak ada test aktif */
+    final long testId;
+
+    final String testName;
+
+    /** Nama simple test class, untuk filter <code>class</code> di {@link PerformanceBudget} */
+    String testClass;
+
+    /** Parent test Extent (dibuat di thread test agar {@link ExtentNode#getTest()} tetap bisa dipakai) */
+    ExtentTest test;
+
+    /** Node Extent aktif yang dibuat lewat {@link ExtentNode#createNode(String)} */
+    ExtentTest node;
+
+    /** Counter otomatis untuk penomoran step */
+    int stepCounter = 1;
+
+    /** Nomor step yang sedang aktif (0 = belum ada step) */
+    int currentStep;
+
+    /** Waktu mulai test ({@link System#nanoTime()}) untuk {@link ExecutionLog} */
+    final long startNanos = System.nanoTime();
+
+    /** Nama &amp; waktu mulai step aktif untuk {@link StepStats} dan {@link ExecutionLog} */
+    String stepName;
+    long stepStartNanos;
+
+    /** Span test, step, dan command untuk {@link CommandTracer}, null jika tracing nonaktif */
+    CommandTracer.Trace trace;
+
+    /** Pesan pelanggaran {@link PerformanceBudget} selama test ini */
+    List<String> budgetBreaches = new ArrayList<>();
+
+    private TestContext() {
+        this(0, null);
+    }
+
+    private TestContext(long testId, String testName) {
+        this.testId = testId;
+        this.testName = testName;
+    }
+
+    /**
+     * @return context milik thread saat ini (context kosong jika belum ada test yang dimulai)
+     */
+    public static TestContext get() {
+        return current.get();
+    }
+
+    /**
+     * Memulai context baru untuk test di thread saat ini.
+     *
+     * @param testName nama test
+     * @return context baru
+     */
+    public static TestContext start(String testName) {
+        TestContext context = new TestContext(testIds.incrementAndGet(), testName);
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Melepas context thread saat ini di akhir test.
+     */
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * @return nama test yang sedang berjalan, atau null
+     */
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * @return nomor step yang sedang aktif, atau 0 jika belum ada step
+     */
+    public int getCurrentStep() {
+        return currentStep;
+    }
+}
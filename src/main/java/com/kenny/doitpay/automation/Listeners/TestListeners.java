@@ -1,16 +1,24 @@
 package com.kenny.doitpay.automation.Listeners;
 
 import java.io.File;
+import java.util.List;
 
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.kenny.doitpay.automation.Config.ChromeDriverFactory;
+import com.kenny.doitpay.automation.Config.DriverPool;
+import com.kenny.doitpay.automation.Config.LeanPageLoad;
 import com.kenny.doitpay.automation.Config.WebDriverManager;
-import com.kenny.doitpay.automation.Helper.CustomCommand;
+import com.kenny.doitpay.automation.Config.WireCommandCounter;
+import com.kenny.doitpay.automation.Helper.ScrollEngine;
+import com.kenny.doitpay.automation.Helper.WaitStats;
 
 
 
@@ -44,8 +52,11 @@ import com.kenny.doitpay.automation.Helper.CustomCommand;
  * @version 1.0
  */
 
-public class TestListeners implements ITestListener{
+public class TestListeners implements ITestListener, IInvokedMethodListener {
 	
+	 /** Atribut ITestContext untuk waktu mulai suite di {@link ExecutionLog} */
+	 private static final String EXECUTION_LOG_START = "executionLogStart";
+
 	 ExtentReports extent = ExtentReportsManager.getExtentReports();
 	 ExtentTest test;
 	 
@@ -59,7 +70,9 @@ public class TestListeners implements ITestListener{
 	        extent = ExtentReportsManager.getExtentReports();
 
 	        // Kalau perlu, update system info tambahan
-	        extent.setSystemInfo("Test Suite", context.getSuite().getName());
+	        systemInfo("Test Suite", context.getSuite().getName());
+	        context.setAttribute(EXECUTION_LOG_START, ExecutionLog.now());
+	        ExecutionLog.instant("suite_start", context.getName());
 	        
 	     // --- Allure folder setup ---
 	        String suiteName = context.getSuite().getName().toLowerCase();
@@ -89,12 +102,18 @@ public class TestListeners implements ITestListener{
 
 	    	String testName = result.getMethod().getMethodName();
 	    	System.out.println("[DEBUG] Creating Extent Test for: " + result.getMethod().getMethodName());
-	    	ExtentNode.createTest(testName);
-	    	LogHelper.resetCounter();
-	    	LogHelper.setCurrentTestName(testName);
+	    	TestContext context = TestContext.start(testName);
+	    	context.testClass = result.getTestClass().getRealClass().getSimpleName();
+	    	ExecutionLog.instant("test_start", testName);
+	    	CommandTracer.startTest(context);
+	    	// Test Extent dibuat langsung agar ExtentNode.getNode() tetap bisa dipakai di test method
+	    	ExtentTest node = ReportBus.isEnabled("extent") ? ExtentNode.createTest(testName) : null;
+	    	ReportBus.publish(ReportEvent.testStart(testName, node));
+	    	// Halaman yang dibuka di @BeforeMethod (sebelum onTestStart) dicatat di test ini
+	    	PageMetrics.collect();
+	    	ScrollEngine.drainScrollMillis();
+	    	ScreenshotPolicy.startTest();
 	    	
-	    	// Ambil ExtentTest aktif untuk API logger
-	        ExtentTest node = ExtentNode.getNode();
 	    	ApiLogHelper apiLogger = new ApiLogHelper(node);
 	        ApiLogManager.setLogger(apiLogger);
 	    }
@@ -110,12 +129,18 @@ public class TestListeners implements ITestListener{
 	    	 WebDriver webDriver = WebDriverManager.getDriver();
 	        try {
 
+	            ScreenshotPolicy.discard();
 	            if ( webDriver != null) {
-	             	String screenshotBase64 = CustomCommand.captureScreenshotBase64(result.getMethod().getMethodName());
-	             	
-	                ExtentNode.getNode().addScreenCaptureFromBase64String(screenshotBase64,result.getMethod().getMethodName());
+	            	if (ScreenshotPolicy.captureOnSuccess()) {
+	            		ScreenshotPipeline.Screenshot screenshot = ScreenshotPipeline.capture(result.getMethod().getMethodName());
+	            		if (screenshot != null) {
+	            			ReportBus.publish(ReportEvent.screenshot(screenshot, result.getMethod().getMethodName()));
+	            		}
+	            	}
 	               
 	                LogHelper.pass("Test Success");
+	                logLeanPageLoadStats(WebDriverManager.getRawDriver());
+	                logScrollTime();
 	            } else {
 	                System.out.println("Driver is null, skipping screenshot for test: " + result.getMethod().getMethodName());
 	            }
@@ -123,6 +148,7 @@ public class TestListeners implements ITestListener{
 	            e.printStackTrace();
 	        
 	        }
+	        finishTest("PASS", null);
 	        
 			
 	    }
@@ -139,11 +165,14 @@ public class TestListeners implements ITestListener{
 	    	try {
 	    		
 	            if (webDriver != null) {
-	            	String screenshotBase64 = CustomCommand.captureScreenshotBase64(result.getMethod().getMethodName());
-	            	
-	                ExtentNode.getNode().addScreenCaptureFromBase64String(screenshotBase64);
+	            	ScreenshotPipeline.Screenshot screenshot = ScreenshotPipeline.capture(null);
+	            	if (screenshot != null) {
+	            		ReportBus.publish(ReportEvent.screenshot(screenshot, null));
+	            	}
 	              
 	                LogHelper.fail("Test Failed");
+	                logLeanPageLoadStats(WebDriverManager.getRawDriver());
+	                logScrollTime();
 	            } else {
 	                System.out.println("Driver is null, skipping screenshot for test: " + result.getMethod().getMethodName());
 	            }
@@ -151,25 +180,108 @@ public class TestListeners implements ITestListener{
 	            e.printStackTrace();
 	        }
 	        
-	    	 ExtentNode.getNode().fail(result.getThrowable());
-	    	 
-	    	 ExtentTest node = ExtentNode.getNode();
-	    	    if (node != null) {
-	    	        node.fail(result.getThrowable());
-	    	    } else {
-	    	        System.out.println("[WARNING] ExtentNode.getNode() null. Logging to console instead.");
-	    	        result.getThrowable().printStackTrace();
-	    	    }
+	    	// Stack trace ditulis ke node aktif oleh sink Extent
+	    	 finishTest("FAIL", result.getThrowable());
 			
 	    }
 	    
 	    
+	    /**
+	     * Mencatat jumlah request yang diblokir oleh {@link LeanPageLoad} selama test berjalan.
+	     */
+	    private void logLeanPageLoadStats(WebDriver webDriver) {
+	    	String stats = LeanPageLoad.drainStats(webDriver);
+	    	if (stats != null) {
+	    		LogHelper.info(stats);
+	    	}
+	    }
+
+
+	    /**
+	     * Mencatat total waktu scroll ({@link ScrollEngine}) selama test berjalan.
+	     */
+	    private void logScrollTime() {
+	    	long scrollMillis = ScrollEngine.drainScrollMillis();
+	    	if (scrollMillis > 0) {
+	    		LogHelper.info("Waktu scroll: " + scrollMillis + " ms");
+	    	}
+	    }
+
+
+	    /**
+	     * Menutup test yang sedang berjalan di thread ini ({@link ReportBus}) dan melepas {@link TestContext}.
+	     */
+	    private void finishTest(String status, Throwable error) {
+	    	TestContext context = TestContext.get();
+	    	if (context.testId != 0) {
+	    		// Biasanya sudah ditutup di afterInvocation; di sini untuk test yang di-skip sebelum dijalankan
+	    		LogHelper.endStep(context);
+	    		if (TimeBreakdown.ENABLED) {
+	    			LogHelper.info(TimeBreakdown.describe(TimeBreakdown.drainTest(context.startNanos)));
+	    		}
+	    		ExecutionLog.end("test_end", context.getTestName(), context.startNanos, status);
+	    		Timeline.test(context.getTestName(), context.startNanos, System.nanoTime(), status);
+	    		CommandTracer.endTest(context, status, error);
+	    		ReportBus.publish(ReportEvent.testEnd(status, error));
+	    		TestContext.end();
+	    	}
+	    }
+
+
+	    /**
+	     * Menambahkan System Info ke semua sink report.
+	     */
+	    private void systemInfo(String name, String value) {
+	    	ReportBus.publish(ReportEvent.systemInfo(name, value));
+	    }
+
+
 	    /**
 	     * Dipanggil jika test dilewati (skip).
 	     * Bisa ditambahkan log atau screenshot jika diperlukan.
 	     */
 	    @Override
 	    public void onTestSkipped(ITestResult result) {
+	    	ScreenshotPolicy.discard();
+	    	finishTest("SKIP", result.getThrowable());
+	    }
+
+
+	    /**
+	     * Dipanggil setelah setiap method test/konfigurasi selesai, sebelum onTestSuccess/onTestFailure.
+	     * Step terakhir ditutup di sini, dengan atau tanpa performance budget, sehingga durasinya
+	     * (StepStats, Timeline, trace) tidak ikut menghitung screenshot akhir test.
+	     * Screenshot di ring buffer (<code>SCREENSHOT_POLICY=on-failure</code>) di-attach di sini, lalu
+	     * menunggu semua sink {@link ReportBus} memproses event test ini, karena AllureTestNg sudah
+	     * menutup test case saat onTestSuccess/onTestFailure listener ini dipanggil.
+	     * Budget step &amp; test {@link PerformanceBudget} dievaluasi di sini; dengan
+	     * <code>PERF_BUDGET_MODE=fail</code> test yang melanggar budget ditandai gagal.
+	     */
+	    @Override
+	    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+	    	if (!method.isTestMethod()) {
+	    		return;
+	    	}
+	    	TestContext context = TestContext.get();
+	    	// Step terakhir selalu berakhir saat test method selesai, sebelum screenshot dan metrik akhir test
+	    	if (context.testId != 0) {
+	    		LogHelper.endStep(context);
+	    	}
+	    	if (testResult.getStatus() == ITestResult.FAILURE) {
+	    		ScreenshotPolicy.materialize();
+	    	}
+	    	// Halaman terakhir dicatat sebelum @AfterMethod menutup driver
+	    	PageMetrics.collect();
+	    	if (context.testId != 0 && PerformanceBudget.isEnabled()) {
+	    		PerformanceBudget.checkTest(context.testName, System.nanoTime() - context.startNanos);
+	    		List<String> breaches = PerformanceBudget.drainBreaches();
+	    		if (!breaches.isEmpty() && PerformanceBudget.FAIL_ON_BREACH
+	    				&& testResult.getStatus() == ITestResult.SUCCESS) {
+	    			testResult.setStatus(ITestResult.FAILURE);
+	    			testResult.setThrowable(new AssertionError(String.join("\n", breaches)));
+	    		}
+	    	}
+	    	ReportBus.sync();
 	    }
 	    
 	    
@@ -180,8 +292,99 @@ public class TestListeners implements ITestListener{
 	     */
 	    @Override
 	    public void onFinish(ITestContext context) {
+	    	// Semua event (termasuk screenshot) sudah diteruskan ke sink sebelum statistik dihitung
+	    	ReportBus.flush();
+	    	if (DriverPool.ENABLED) {
+	    		String poolStats = DriverPool.getStats();
+	    		systemInfo("Driver Pool", poolStats);
+	    		System.out.println("Driver Pool stats: " + poolStats);
+	    	}
+	    	if (ChromeDriverFactory.getSessionsCreated() > 0) {
+	    		String chromeStats = ChromeDriverFactory.getStats();
+	    		systemInfo("Chrome Sessions", chromeStats);
+	    		System.out.println("Chrome session stats: " + chromeStats);
+	    	}
+	    	WaitStats.getSummary().forEach((condition, summary) -> {
+	    		systemInfo("Wait: " + condition, summary);
+	    		System.out.println("Wait stats [" + condition + "]: " + summary);
+	    	});
+	    	WireCommandCounter.getSummary().forEach((operation, summary) -> {
+	    		systemInfo("Wire: " + operation, summary);
+	    		System.out.println("Wire commands [" + operation + "]: " + summary);
+	    	});
+
+	    	if (ScreenshotPipeline.getCaptureCount() > 0) {
+	    		ScreenshotPipeline.awaitPending();
+	    		String screenshotStats = ScreenshotPipeline.getStats();
+	    		systemInfo("Screenshots", screenshotStats);
+	    		System.out.println("Screenshot stats: " + screenshotStats);
+	    		if (ScreenshotPipeline.getDuplicateCount() > 0) {
+	    			String dedupStats = ScreenshotPipeline.getDedupStats();
+	    			systemInfo("Screenshot Dedup", dedupStats);
+	    			System.out.println("Screenshot dedup: " + dedupStats);
+	    		}
+	    	}
+
+	    	if (CommandTracer.ENABLED) {
+	    		String traceStats = CommandTracer.getStats();
+	    		systemInfo("Command Tracing", traceStats);
+	    		System.out.println("Command tracing: " + traceStats);
+	    	}
+
+	    	if (TimeBreakdown.hasData()) {
+	    		String[][] breakdown = TimeBreakdown.toTable();
+	    		for (int i = 1; i < breakdown.length; i++) {
+	    			System.out.println("Time breakdown [" + breakdown[i][0] + "]: " + breakdown[i][1] + " ms ("
+	    					+ breakdown[i][2] + ")");
+	    		}
+	    		ReportBus.publish(ReportEvent.summary("Time Breakdown", breakdown));
+	    	}
+
+	    	if (PageMetrics.hasData()) {
+	    		String[][] pages = PageMetrics.toTable();
+	    		for (int i = 1; i < pages.length; i++) {
+	    			System.out.println("Page metrics [" + pages[i][0] + "]: " + String.join(", ", pages[i]));
+	    		}
+	    		ReportBus.publish(ReportEvent.summary("Page Metrics", pages));
+	    	}
+
+	    	if (PerformanceBudget.isEnabled()) {
+	    		String[][] budgets = PerformanceBudget.toTable();
+	    		for (int i = 1; i < budgets.length; i++) {
+	    			System.out.println("Performance budget [" + budgets[i][0] + "]: " + String.join(", ", budgets[i]));
+	    		}
+	    		if (budgets.length > 1) {
+	    			ReportBus.publish(ReportEvent.summary("Performance Budgets", budgets));
+	    		}
+	    	}
+
+	    	if (Timeline.ENABLED && Timeline.hasData()) {
+	    		String timelineStats = Timeline.render(Timeline.htmlFile());
+	    		systemInfo("Timeline", timelineStats);
+	    		System.out.println("Timeline: " + timelineStats + " → " + Timeline.htmlFile());
+	    	}
+
+	    	if (StepStats.hasData()) {
+	    		StepStats.getSummary().forEach((step, summary) ->
+	    				System.out.println("Step latency [" + step + "]: " + summary));
+	    		ReportBus.publish(ReportEvent.summary("Step Latency", StepStats.toTable()));
+	    		StepStats.writeJson(StepStats.jsonFile());
+	    	}
+
+	    	Object suiteStart = context.getAttribute(EXECUTION_LOG_START);
+	    	if (suiteStart instanceof Long) {
+	    		ExecutionLog.end("suite_end", context.getName(), (Long) suiteStart, null);
+	    	}
+	    	if (ExecutionLog.ENABLED) {
+	    		ExecutionLog.flush();
+	    		System.out.println("Execution log: " + ExecutionLog.getStats());
+	    	}
+
+	    	ReportBus.flush();
 	    	 System.out.println("Flushing Extent Report...");
-	        extent.flush(); // Flush sekali di akhir suite
+	        if (ReportBus.isEnabled("extent")) {
+	        	extent.flush(); // Flush sekali di akhir suite
+	        }
 	        System.out.println("Extent Report generated at: " +
 	                System.getProperty("user.dir") + "/reports/");
 	    }
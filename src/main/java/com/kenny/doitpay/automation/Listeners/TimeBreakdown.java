@@ -0,0 +1,221 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>TimeBreakdown</h1>
+ * Pembagian waktu per test ("ke mana waktunya pergi"): browser startup, navigasi, explicit wait
+ * (per kondisi), sleep tetap, latency command WebDriver, capture screenshot, penulisan report,
+ * pengumpulan page metrics, dan sisanya sebagai logika test.
+ *
+ * <p>
+ * Setiap thread punya satu penghitung ({@link ThreadLocal}, seperti total scroll di
+ * {@link com.kenny.doitpay.automation.Helper.ScrollEngine}). Waktu dicatat ke kategori terluar yang
+ * sedang aktif: command <code>findElement</code> di dalam wait dihitung sebagai waktu wait, dan
+ * <code>getScreenshotAs</code> di dalam capture dihitung sebagai screenshot, sehingga total
+ * kategori tidak pernah dobel.
+ * </p>
+ *
+ * <p>
+ * Penghitung diambil di akhir test, termasuk waktu sebelum {@code onTestStart} (misalnya browser
+ * startup di {@code @BeforeMethod}). Hasilnya ditulis per test ke report dan diagregasi per suite
+ * sebagai tabel "Time Breakdown".
+ * </p>
+ *
+ * <p><b>Contoh Penggunaan:</b></p>
+ * <pre>
+ * TimeBreakdown.begin(TimeBreakdown.Category.SLEEP);
+ * try {
+ *     Thread.sleep(millis);
+ * } finally {
+ *     TimeBreakdown.end();
+ * }
+ * </pre>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>TIME_BREAKDOWN</code> — <code>false</code> untuk menonaktifkan (default <code>true</code>)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class TimeBreakdown {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("TIME_BREAKDOWN", "true"));
+
+    public enum Category {
+        STARTUP("Browser startup"),
+        NAVIGATION("Navigation"),
+        WAIT("Wait"),
+        SLEEP("Sleep"),
+        COMMAND("WebDriver command"),
+        SCREENSHOT("Screenshot"),
+        REPORT("Report"),
+        /** Pengumpulan {@link PageMetrics} */
+        METRICS("Page metrics"),
+        LOGIC("Test logic");
+
+        final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final ThreadLocal<Tally> tally = ThreadLocal.withInitial(Tally::new);
+
+    /** Total semua test dalam milidetik, per kategori (wait per kondisi) */
+    private static final Map<String, LongAdder> suiteTotals = new ConcurrentHashMap<>();
+    private static final LongAdder tests = new LongAdder();
+
+    private TimeBreakdown() {
+    }
+
+    /**
+     * Mulai mencatat waktu ke kategori tertentu. Harus dipasangkan dengan {@link #end()}.
+     */
+    public static void begin(Category category) {
+        begin(category, null);
+    }
+
+    /**
+     * Mulai mencatat waktu ke kategori tertentu.
+     *
+     * @param category kategori
+     * @param detail   rincian kategori, misalnya nama kondisi wait (boleh null)
+     */
+    public static void begin(Category category, String detail) {
+        if (!ENABLED) {
+            return;
+        }
+        Tally t = tally.get();
+        if (t.depth++ == 0) {
+            t.category = category;
+            t.detail = detail;
+            t.start = System.nanoTime();
+            if (t.firstStart == 0) {
+                t.firstStart = t.start;
+            }
+        }
+    }
+
+    /**
+     * Selesai mencatat kategori yang dibuka lewat {@link #begin(Category, String)}.
+     */
+    public static void end() {
+        if (!ENABLED) {
+            return;
+        }
+        Tally t = tally.get();
+        if (t.depth > 0 && --t.depth == 0) {
+            long now = System.nanoTime();
+            t.totals.merge(key(t.category, t.detail), now - t.start, Long::sum);
+            Timeline.breakdown(t.category, t.detail, t.start, now);
+        }
+    }
+
+    /**
+     * Mengambil lalu me-reset pembagian waktu thread saat ini untuk test yang baru selesai.
+     *
+     * @param testStartNanos waktu {@code onTestStart} ({@link System#nanoTime()})
+     * @return label kategori → milidetik, urut sesuai {@link Category}, termasuk "Test logic"
+     */
+    static Map<String, Long> drainTest(long testStartNanos) {
+        Tally t = tally.get();
+        long now = System.nanoTime();
+        long from = t.firstStart != 0 ? Math.min(t.firstStart, testStartNanos) : testStartNanos;
+        long accounted = 0;
+
+        Map<String, Long> millis = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            for (Map.Entry<String, Long> entry : new TreeMap<>(t.totals).entrySet()) {
+                if (entry.getKey().equals(category.label) || entry.getKey().startsWith(category.label + ": ")) {
+                    millis.put(entry.getKey(), entry.getValue() / 1_000_000);
+                    accounted += entry.getValue();
+                }
+            }
+        }
+        // Kategori yang masih terbuka (tidak biasa) dihitung sebagai logika test
+        millis.put(Category.LOGIC.label, Math.max(0, now - from - accounted) / 1_000_000);
+
+        t.totals.clear();
+        t.firstStart = 0;
+        if (t.depth > 0) {
+            t.start = now;
+            t.firstStart = now;
+        }
+
+        millis.forEach((key, value) -> suiteTotals.computeIfAbsent(key, k -> new LongAdder()).add(value));
+        tests.increment();
+        return millis;
+    }
+
+    /**
+     * Teks satu baris untuk log per test, kategori bernilai 0 ms dilewati.
+     */
+    static String describe(Map<String, Long> millis) {
+        long total = millis.values().stream().mapToLong(Long::longValue).sum();
+        StringBuilder sb = new StringBuilder("Breakdown waktu (" + total + " ms): ");
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : millis.entrySet()) {
+            if (entry.getValue() > 0) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(entry.getKey()).append(' ').append(entry.getValue()).append(" ms");
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return true jika sudah ada test yang tercatat
+     */
+    public static boolean hasData() {
+        return tests.sum() > 0;
+    }
+
+    /**
+     * Tabel agregasi suite untuk {@link ReportEvent#summary(String, String[][])}, diurutkan
+     * dari kategori terbesar.
+     */
+    static String[][] toTable() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        suiteTotals.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> totals.put(entry.getKey(), entry.getValue().sum()));
+        long grandTotal = totals.values().stream().mapToLong(Long::longValue).sum();
+        long testCount = Math.max(1, tests.sum());
+
+        String[][] table = new String[totals.size() + 1][];
+        table[0] = new String[] { "Category", "Total (ms)", "Share", "Avg per test (ms)" };
+        int row = 1;
+        for (Map.Entry<String, Long> entry : totals.entrySet()) {
+            double share = grandTotal == 0 ? 0 : entry.getValue() * 100.0 / grandTotal;
+            table[row++] = new String[] { entry.getKey(), String.valueOf(entry.getValue()),
+                    String.format("%.1f%%", share), String.valueOf(entry.getValue() / testCount) };
+        }
+        return table;
+    }
+
+    private static String key(Category category, String detail) {
+        return detail == null ? category.label : category.label + ": " + detail;
+    }
+
+    /** Penghitung milik satu thread */
+    private static class Tally {
+        final Map<String, Long> totals = new LinkedHashMap<>();
+        int depth;
+        Category category;
+        String detail;
+        long start;
+        /** Awal kategori pertama sejak pengambilan terakhir (0 = belum ada) */
+        long firstStart;
+    }
+}
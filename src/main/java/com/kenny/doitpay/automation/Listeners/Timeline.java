@@ -0,0 +1,319 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <h1>Timeline</h1>
+ * Timeline eksekusi paralel (Gantt): setiap test, step, browser startup, dan wait dicatat
+ * bersama identitas thread, lalu dirender menjadi
+ * <code>reports/summary-report/&lt;run&gt;.timeline.html</code> dengan satu lane per worker thread.
+ *
+ * <p>
+ * Selain visual, file yang sama memuat:
+ * </p>
+ * <ul>
+ *   <li><b>Utilization</b> — waktu sibuk (test dan browser startup) dibagi (jumlah lane × durasi run),
+ *   serta idle per lane</li>
+ *   <li><b>Critical path</b> — urutan test di lane yang selesai paling akhir; lane inilah yang
+ *   menentukan durasi total run, termasuk jeda idle di antaranya</li>
+ * </ul>
+ *
+ * <p>
+ * Pencatatan hanya menambahkan satu objek ke queue lock-free; HTML dibuat di akhir suite.
+ * Wait yang lebih pendek dari <code>TIMELINE_MIN_WAIT_MS</code> tidak ditampilkan.
+ * </p>
+ *
+ * <p><b>Konfigurasi (System Property):</b></p>
+ * <ul>
+ *   <li><code>TIMELINE</code> — <code>false</code> untuk menonaktifkan (default <code>true</code>)</li>
+ *   <li><code>TIMELINE_MIN_WAIT_MS</code> — durasi minimum wait yang ditampilkan (default 20)</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class Timeline {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("TIMELINE", "true"));
+
+    private static final long MIN_WAIT_NANOS = Long.getLong("TIMELINE_MIN_WAIT_MS", 20) * 1_000_000L;
+
+    enum Kind {
+        TEST, STEP, STARTUP, WAIT
+    }
+
+    private static final Queue<Segment> segments = new ConcurrentLinkedQueue<>();
+
+    private Timeline() {
+    }
+
+    /**
+     * Mencatat satu test yang sudah selesai di thread saat ini.
+     */
+    static void test(String name, long startNanos, long endNanos, String status) {
+        add(Kind.TEST, name, startNanos, endNanos, status);
+    }
+
+    /**
+     * Mencatat satu step yang sudah selesai di thread saat ini.
+     */
+    static void step(String name, long startNanos, long endNanos) {
+        add(Kind.STEP, name, startNanos, endNanos, null);
+    }
+
+    /**
+     * Mencatat kategori {@link TimeBreakdown} yang relevan untuk timeline (browser startup dan wait).
+     */
+    static void breakdown(TimeBreakdown.Category category, String detail, long startNanos, long endNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        if (category == TimeBreakdown.Category.STARTUP) {
+            add(Kind.STARTUP, "Browser startup", startNanos, endNanos, null);
+        } else if (category == TimeBreakdown.Category.WAIT && endNanos - startNanos >= MIN_WAIT_NANOS) {
+            add(Kind.WAIT, detail != null ? "Wait: " + detail : "Wait", startNanos, endNanos, null);
+        }
+    }
+
+    /**
+     * @return true jika sudah ada test yang tercatat
+     */
+    public static boolean hasData() {
+        return segments.stream().anyMatch(s -> s.kind == Kind.TEST);
+    }
+
+    /**
+     * @return file HTML timeline untuk run ini
+     */
+    static Path htmlFile() {
+        return Paths.get(ExtentReportsManager.REPORT_DIR, ExtentReportsManager.RUN_NAME + ".timeline.html");
+    }
+
+    private static void add(Kind kind, String name, long startNanos, long endNanos, String status) {
+        if (!ENABLED) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        segments.add(new Segment(kind, name, startNanos, endNanos, status, thread.getId(), thread.getName()));
+    }
+
+    /**
+     * Menghitung utilization dan critical path lalu menulis HTML timeline.
+     *
+     * @param file file tujuan
+     * @return ringkasan satu baris (utilization, lane, durasi), atau null jika belum ada test
+     */
+    static String render(Path file) {
+        List<Segment> all = new ArrayList<>(segments);
+        Map<Long, Lane> lanes = new LinkedHashMap<>();
+        all.sort(Comparator.comparingLong(s -> s.start));
+        for (Segment segment : all) {
+            lanes.computeIfAbsent(segment.threadId, id -> new Lane(segment.threadName)).segments.add(segment);
+        }
+        lanes.values().removeIf(lane -> lane.tests().isEmpty());
+        if (lanes.isEmpty()) {
+            return null;
+        }
+
+        long origin = Long.MAX_VALUE;
+        long finish = Long.MIN_VALUE;
+        for (Lane lane : lanes.values()) {
+            for (Segment segment : lane.segments) {
+                origin = Math.min(origin, segment.start);
+                finish = Math.max(finish, segment.end);
+            }
+        }
+        long span = Math.max(1, finish - origin);
+
+        long busy = 0;
+        Lane critical = null;
+        for (Lane lane : lanes.values()) {
+            busy += lane.busy();
+            if (critical == null || lane.lastEnd() > critical.lastEnd()) {
+                critical = lane;
+            }
+        }
+        double utilization = busy * 100.0 / ((double) span * lanes.size());
+        String summary = String.format("utilization=%.1f%%, lanes=%d, wall=%s", utilization, lanes.size(), seconds(span));
+
+        StringBuilder html = new StringBuilder(16 * 1024);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>Timeline ")
+                .append(escape(ExtentReportsManager.RUN_NAME)).append("</title><style>")
+                .append("body{font-family:sans-serif;margin:20px;color:#222}")
+                .append("table{border-collapse:collapse;margin:8px 0}td,th{border:1px solid #ccc;padding:3px 8px;text-align:left}")
+                .append(".chart{position:relative;margin-left:160px;border-left:1px solid #999}")
+                .append(".lane{position:relative;height:44px;border-bottom:1px solid #eee}")
+                .append(".lane.critical{background:#fff6e0}")
+                .append(".label{position:absolute;left:-160px;width:150px;top:14px;font-size:12px;overflow:hidden;white-space:nowrap}")
+                .append(".bar{position:absolute;overflow:hidden;white-space:nowrap;font-size:10px;color:#fff;box-sizing:border-box;border-right:1px solid #fff}")
+                .append(".TEST{top:2px;height:16px}.STEP{top:20px;height:10px;background:#5b8def}")
+                .append(".STARTUP{top:32px;height:8px;background:#f39c12}.WAIT{top:32px;height:8px;background:#8e44ad}")
+                .append(".PASS{background:#2e9e5b}.FAIL{background:#d64541}.SKIP{background:#999}")
+                .append(".axis{position:relative;height:18px;font-size:10px;color:#666}.tick{position:absolute;border-left:1px solid #ccc;padding-left:2px}")
+                .append("</style></head><body>");
+
+        html.append("<h2>Timeline: ").append(escape(ExtentReportsManager.RUN_NAME)).append("</h2>");
+        html.append("<p>Utilization <b>").append(String.format("%.1f%%", utilization)).append("</b> dari ")
+                .append(lanes.size()).append(" lane, wall time ").append(seconds(span)).append("</p>");
+        html.append("<p>Legenda: test (hijau/merah/abu), <span style=\"color:#5b8def\">step</span>, ")
+                .append("<span style=\"color:#f39c12\">browser startup</span>, ")
+                .append("<span style=\"color:#8e44ad\">wait</span>. Lane kuning = critical path.</p>");
+
+        html.append("<div class=\"chart\"><div class=\"axis\">");
+        long tick = tickNanos(span);
+        for (long t = 0; t <= span; t += tick) {
+            html.append("<div class=\"tick\" style=\"left:").append(percent(t, span)).append("%\">")
+                    .append(seconds(t)).append("</div>");
+        }
+        html.append("</div>");
+        for (Lane lane : lanes.values()) {
+            html.append("<div class=\"lane").append(lane == critical ? " critical" : "").append("\">")
+                    .append("<div class=\"label\" title=\"").append(escape(lane.name)).append("\">")
+                    .append(escape(lane.name)).append("</div>");
+            for (Segment segment : lane.segments) {
+                String title = segment.name + " (" + seconds(segment.end - segment.start) + ")";
+                html.append("<div class=\"bar ").append(segment.kind);
+                if (segment.status != null) {
+                    html.append(' ').append(escape(segment.status));
+                }
+                html.append("\" style=\"left:").append(percent(segment.start - origin, span))
+                        .append("%;width:").append(percent(segment.end - segment.start, span))
+                        .append("%\" title=\"").append(escape(title)).append("\">");
+                if (segment.kind == Kind.TEST) {
+                    html.append(escape(segment.name));
+                }
+                html.append("</div>");
+            }
+            html.append("</div>");
+        }
+        html.append("</div>");
+
+        html.append("<h3>Utilization per lane</h3><table><tr><th>Thread</th><th>Tests</th><th>Busy</th><th>Idle</th><th>Utilization</th></tr>");
+        for (Lane lane : lanes.values()) {
+            long laneBusy = lane.busy();
+            html.append("<tr><td>").append(escape(lane.name)).append("</td><td>").append(lane.tests().size())
+                    .append("</td><td>").append(seconds(laneBusy)).append("</td><td>").append(seconds(span - laneBusy))
+                    .append("</td><td>").append(String.format("%.1f%%", laneBusy * 100.0 / span)).append("</td></tr>");
+        }
+        html.append("</table>");
+
+        html.append("<h3>Critical path (").append(escape(critical.name)).append(", selesai di ")
+                .append(seconds(critical.lastEnd() - origin)).append(")</h3>");
+        html.append("<table><tr><th>Mulai</th><th>Test</th><th>Status</th><th>Durasi</th><th>Idle sebelumnya</th></tr>");
+        long previousEnd = origin;
+        for (Segment test : critical.tests()) {
+            html.append("<tr><td>").append(seconds(test.start - origin)).append("</td><td>").append(escape(test.name))
+                    .append("</td><td>").append(escape(String.valueOf(test.status))).append("</td><td>")
+                    .append(seconds(test.end - test.start)).append("</td><td>")
+                    .append(seconds(Math.max(0, test.start - previousEnd))).append("</td></tr>");
+            previousEnd = test.end;
+        }
+        html.append("</table></body></html>");
+
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write(html.toString());
+            }
+        } catch (IOException e) {
+            System.out.println("[WARNING] Gagal menulis timeline: " + e.getMessage());
+        }
+        return summary;
+    }
+
+    /** Interval tick sumbu waktu, maksimal sekitar 10 tick */
+    private static long tickNanos(long span) {
+        long[] candidatesMillis = { 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000, 600_000 };
+        for (long millis : candidatesMillis) {
+            if (span / (millis * 1_000_000L) <= 10) {
+                return millis * 1_000_000L;
+            }
+        }
+        return 1_800_000L * 1_000_000L;
+    }
+
+    private static String percent(long value, long span) {
+        return String.format("%.3f", value * 100.0 / span);
+    }
+
+    private static String seconds(long nanos) {
+        return String.format("%.2fs", nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static final class Segment {
+        final Kind kind;
+        final String name;
+        final long start;
+        final long end;
+        final String status;
+        final long threadId;
+        final String threadName;
+
+        Segment(Kind kind, String name, long start, long end, String status, long threadId, String threadName) {
+            this.kind = kind;
+            this.name = name;
+            this.start = start;
+            this.end = end;
+            this.status = status;
+            this.threadId = threadId;
+            this.threadName = threadName;
+        }
+    }
+
+    private static final class Lane {
+        final String name;
+        final List<Segment> segments = new ArrayList<>();
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        List<Segment> tests() {
+            List<Segment> tests = new ArrayList<>();
+            for (Segment segment : segments) {
+                if (segment.kind == Kind.TEST) {
+                    tests.add(segment);
+                }
+            }
+            return tests;
+        }
+
+        /** Gabungan interval semua segmen (test, startup di luar test, ...) */
+        long busy() {
+            long busy = 0;
+            long coveredUntil = Long.MIN_VALUE;
+            for (Segment segment : segments) {
+                long from = Math.max(segment.start, coveredUntil);
+                if (segment.end > from) {
+                    busy += segment.end - from;
+                    coveredUntil = segment.end;
+                }
+            }
+            return busy;
+        }
+
+        long lastEnd() {
+            long last = Long.MIN_VALUE;
+            for (Segment segment : segments) {
+                last = Math.max(last, segment.end);
+            }
+            return last;
+        }
+    }
+}
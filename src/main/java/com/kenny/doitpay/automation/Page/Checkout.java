@@ -170,6 +170,22 @@ public class Checkout {
 		LogHelper.detail("Berhasil mengisi Postal Code: " + postalCode);
 	}
 
+	/**
+	 * Mengisi seluruh form informasi checkout (First Name, Last Name, Postal Code)
+	 * dalam satu operasi batch dan mencatatnya sebagai satu langkah.
+	 *
+	 * @param firstName  nama depan pengguna
+	 * @param lastName   nama belakang pengguna
+	 * @param postalCode kode pos pengguna
+	 */
+	public void inputInformation(String firstName, String lastName, String postalCode) {
+		LogHelper.step("Input Informasi Checkout");
+		utils.fillForm(CustomCommand.field(firstNameField, firstName),
+				CustomCommand.field(lastNameField, lastName),
+				CustomCommand.field(postalCodeField, postalCode));
+		LogHelper.detail("Berhasil mengisi First Name: " + firstName + ", Last Name: " + lastName
+				+ ", Postal Code: " + postalCode);
+	}
 	
 	/**
 	 * Mengisi Informasi Checkout
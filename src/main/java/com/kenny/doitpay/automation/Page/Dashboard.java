@@ -10,8 +10,6 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.asserts.SoftAssert;
 
 import com.kenny.doitpay.automation.Config.WebDriverManager;
@@ -197,7 +195,6 @@ public class Dashboard {
 	       LogHelper.step("Menambahkan semua produk yang tersedia ke keranjang");
 
 	       WebDriver driver = WebDriverManager.getDriver();
-	       WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
 	       int totalAdded = 0;
 
 	       // Loop utama: selama masih ada tombol "Add to Cart" di halaman
@@ -217,7 +214,7 @@ public class Dashboard {
 	                   totalAdded++;
 
 	                   // Tunggu tombol berubah jadi REMOVE (indikasi sukses klik)
-	                   wait.until(ExpectedConditions.attributeContains(addButton, "class", "btn_secondary"));
+	                   utils.waitUntilAttributeContains(addButton, "class", "btn_secondary", Duration.ofSeconds(5));
 	                   LogHelper.detail("Produk ke-" + totalAdded + " berhasil ditambahkan ke keranjang.");
 
 	               } catch (StaleElementReferenceException ignored) {
@@ -231,7 +228,6 @@ public class Dashboard {
 
 	           WebElement lastProduct = addButtons.get(addButtons.size() - 1);
 	           utils.scrollIntoView(lastProduct);
-	           utils.sleep(500);
 	       }
 
 	       LogHelper.step("Membuka halaman Cart");
@@ -251,11 +247,10 @@ public class Dashboard {
 	    * @return jumlah item di keranjang, atau 0 jika kosong.
 	    */
 	   public int getCartItemCount() {
-		   WebDriver driver = WebDriverManager.getDriver();
 	       try {
-	           List<WebElement> badges = driver.findElements(cartBadge);
-	           if (!badges.isEmpty()) {
-	               String countText = badges.get(0).getText().trim();
+	           // Satu round trip: badge dibaca langsung di browser
+	           String countText = utils.getTextIfPresent(cartBadge);
+	           if (countText != null && !countText.isEmpty()) {
 	               return Integer.parseInt(countText);
 	           }
 	       } catch (Exception e) {
@@ -124,8 +124,7 @@ public class Login {
 	    String password = credentials.get(username);
 
 	    // Input username dan password
-	    utils.sendKeysWhenReady(inputUserName, username);
-	    utils.sendKeysWhenReady(inputPassword, password);
+	    utils.fillForm(CustomCommand.field(inputUserName, username), CustomCommand.field(inputPassword, password));
 	    utils.clickWhenReady(loginBtn);
 
 	    // Tunggu hasil login
@@ -170,8 +169,7 @@ public class Login {
 	 */
 	public void loginWithDataDriven(String username, String password) {
 
-		utils.sendKeysWhenReady(inputUserName, username);
-		utils.sendKeysWhenReady(inputPassword, password);
+		utils.fillForm(CustomCommand.field(inputUserName, username), CustomCommand.field(inputPassword, password));
 		utils.clickWhenReady(loginBtn);
 		if (utils.isElementPresent(errorMessageLogin)) {
 			LogHelper.step("Verify Login");
@@ -0,0 +1,201 @@
+package com.kenny.doitpay.automation.Benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.kenny.doitpay.automation.Listeners.ExtentNode;
+import com.kenny.doitpay.automation.Listeners.LogHelper;
+import com.kenny.doitpay.automation.Listeners.ReportBus;
+
+/**
+ * Benchmark kontensi jalur logging report dengan 16 test paralel.
+ *
+ * <p>
+ * Setiap invocation adalah test TestNG sungguhan (dengan {@code TestListeners}), sehingga
+ * {@link LogHelper#step(String)} dan {@link LogHelper#detail(String)} melewati jalur yang sama
+ * dengan test web: {@code TestContext} → {@link ReportBus} → sink Extent. Pembandingnya adalah
+ * jalur lama (map statis berbasis Thread ID di balik method <code>static synchronized</code>,
+ * counter step dan node step aktif statis) yang menulis ke {@link ExtentTest} sungguhan.
+ * </p>
+ *
+ * <p>
+ * Setelah benchmark, setiap test Extent diperiksa: child-nya harus tepat <code>STEP 1..n</code>
+ * milik test itu sendiri, dan detail setiap step harus berasal dari step tersebut.
+ * Jalankan dengan:
+ * </p>
+ * <pre>
+ * mvn test -DsuiteFile=BenchmarkSuite.xml -DREPORT_SINKS=extent -DBENCH_STEPS=500 -DREPORT_SINK_THREADS=4
+ * </pre>
+ */
+public class ReportingContentionBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int STEPS = Integer.getInteger("BENCH_STEPS", 500);
+    private static final long BARRIER_TIMEOUT_SECONDS = 60;
+
+    private static final Run legacy = new Run();
+    private static final Run context = new Run();
+
+    /** Nama worker → test Extent milik invocation tersebut */
+    private static final Map<String, ExtentTest> contextTests = new ConcurrentHashMap<>();
+
+    @Test(invocationCount = THREADS, threadPoolSize = THREADS)
+    public void legacyLogging() throws Exception {
+        String worker = legacy.worker();
+        legacy.start();
+        for (int s = 0; s < STEPS; s++) {
+            LegacyLogHelper.step(worker + " step " + s);
+            LegacyLogHelper.detail(worker + " detail " + s);
+        }
+        legacy.finish();
+    }
+
+    @Test(invocationCount = THREADS, threadPoolSize = THREADS, dependsOnMethods = "legacyLogging")
+    public void contextLogging() throws Exception {
+        if (!ReportBus.isEnabled("extent")) {
+            throw new SkipException("Sink Extent nonaktif, jalankan dengan -DREPORT_SINKS=extent");
+        }
+        String worker = context.worker();
+        contextTests.put(worker, ExtentNode.getTest());
+        context.start();
+        for (int s = 0; s < STEPS; s++) {
+            LogHelper.step(worker + " step " + s);
+            LogHelper.detail(worker + " detail " + s);
+        }
+        // Waktu end-to-end: sampai sink Extent selesai menulis semua event test ini
+        ReportBus.sync();
+        context.finish();
+    }
+
+    @Test(dependsOnMethods = "contextLogging")
+    public void stepsStayInOwnExtentTest() {
+        Assert.assertEquals(contextTests.size(), THREADS, "Jumlah test Extent");
+        contextTests.forEach((worker, test) -> {
+            List<com.aventstack.extentreports.model.Test> steps = test.getModel().getChildren();
+            Assert.assertEquals(steps.size(), STEPS, "Jumlah step di test " + worker);
+            for (int s = 0; s < STEPS; s++) {
+                com.aventstack.extentreports.model.Test step = steps.get(s);
+                Assert.assertTrue(step.getName().contains("STEP " + (s + 1) + ": " + worker + " step " + s + "<"),
+                        "Step " + (s + 1) + " di test " + worker + " tercampur: " + step.getName());
+                List<Log> logs = step.getLogs();
+                Assert.assertEquals(logs.size(), 1, "Jumlah detail di " + step.getName());
+                Assert.assertTrue(logs.get(0).getDetails().contains(worker + " detail " + s + "<"),
+                        "Detail di " + step.getName() + " tercampur: " + logs.get(0).getDetails());
+            }
+        });
+
+        int[] legacyErrors = LegacyLogHelper.errors();
+        log(String.format("threads=%d steps=%d jalur lama:      %,.0f log/s, step salah nomor: %d, detail di node test lain: %d",
+                THREADS, STEPS, legacy.throughput(), legacyErrors[0], legacyErrors[1]));
+        log(String.format("threads=%d steps=%d TestContext+bus: %,.0f log/s (%.1fx), step salah nomor: 0, detail di node test lain: 0",
+                THREADS, STEPS, context.throughput(), context.throughput() / legacy.throughput()));
+    }
+
+    private static void log(String message) {
+        System.out.println(message);
+        Reporter.log(message);
+    }
+
+    /** Waktu satu putaran benchmark: dari semua worker siap sampai worker terakhir selesai */
+    private static class Run {
+        private final AtomicInteger workers = new AtomicInteger();
+        private final AtomicLong begin = new AtomicLong();
+        private final AtomicLong end = new AtomicLong();
+        private final CyclicBarrier ready = new CyclicBarrier(THREADS, () -> begin.set(System.nanoTime()));
+
+        String worker() {
+            return "worker-" + workers.getAndIncrement();
+        }
+
+        void start() throws Exception {
+            ready.await(BARRIER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        void finish() {
+            end.accumulateAndGet(System.nanoTime(), Math::max);
+        }
+
+        /** Log per detik (step + detail) */
+        double throughput() {
+            return 2.0 * THREADS * STEPS / ((end.get() - begin.get()) / 1_000_000_000.0);
+        }
+    }
+
+    /** Replika LogHelper/ExtentNode sebelum TestContext, hanya untuk pembanding */
+    private static class LegacyLogHelper {
+        private static final ExtentReports extent = new ExtentReports();
+        private static final Map<Long, ExtentTest> parentTestMap = new HashMap<>();
+        private static final Map<Long, ExtentTest> nodeTestMap = new HashMap<>();
+        private static final List<ExtentTest> parents = new ArrayList<>();
+        private static int stepCounter = 1;
+        private static ExtentTest currentStepNode;
+
+        @SuppressWarnings("deprecation")
+        static synchronized ExtentTest getTest() {
+            return parentTestMap.computeIfAbsent(Thread.currentThread().getId(), id -> {
+                ExtentTest test = extent.createTest("legacy-" + id);
+                parents.add(test);
+                return test;
+            });
+        }
+
+        @SuppressWarnings("deprecation")
+        static synchronized ExtentTest createNode(String stepName) {
+            ExtentTest node = getTest().createNode(stepName);
+            nodeTestMap.put(Thread.currentThread().getId(), node);
+            return node;
+        }
+
+        static void step(String message) {
+            String stepMessage = "STEP " + stepCounter++ + ": " + message;
+            currentStepNode = createNode(MarkupHelper.createLabel(stepMessage, ExtentColor.BLACK).getMarkup());
+        }
+
+        static void detail(String message) {
+            currentStepNode.log(Status.INFO, MarkupHelper.createLabel(message, ExtentColor.GREEN).getMarkup());
+        }
+
+        /**
+         * @return jumlah step yang nomornya bukan urutan di test-nya sendiri (counter statis), dan
+         *         jumlah detail yang ditulis ke step milik worker lain (node step aktif statis)
+         */
+        static synchronized int[] errors() {
+            int misnumbered = 0;
+            int misplaced = 0;
+            for (ExtentTest parent : parents) {
+                List<com.aventstack.extentreports.model.Test> steps = parent.getModel().getChildren();
+                for (int s = 0; s < steps.size(); s++) {
+                    com.aventstack.extentreports.model.Test step = steps.get(s);
+                    if (!step.getName().contains("STEP " + (s + 1) + ": ")) {
+                        misnumbered++;
+                    }
+                    String worker = step.getName().replaceAll(".*: (worker-\\d+) step .*", "$1");
+                    for (Log log : step.getLogs()) {
+                        if (!log.getDetails().contains(worker + " detail ")) {
+                            misplaced++;
+                        }
+                    }
+                }
+            }
+            return new int[] { misnumbered, misplaced };
+        }
+    }
+}
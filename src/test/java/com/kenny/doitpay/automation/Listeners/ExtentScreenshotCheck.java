@@ -0,0 +1,119 @@
+package com.kenny.doitpay.automation.Listeners;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.imageio.ImageIO;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+/**
+ * Memastikan screenshot mode Base64 ({@link ScreenshotPipeline}) benar-benar muncul sebagai
+ * gambar di HTML Extent, bukan hanya terdaftar di model lalu dibuang saat flush, termasuk
+ * screenshot duplikat ({@link ScreenshotStore}) di test lain. Juga memastikan mode file tidak
+ * menahan byte screenshot di heap setelah file-nya ditulis.
+ *
+ * <pre>
+ * mvn test -DsuiteFile=BenchmarkSuite.xml
+ * </pre>
+ */
+public class ExtentScreenshotCheck {
+
+    @Test
+    public void base64ScreenshotsAreEmbeddedInHtml() throws Exception {
+        if (ScreenshotPipeline.FILE_STORAGE) {
+            throw new SkipException("SCREENSHOT_STORAGE=file, screenshot tidak di-embed sebagai Base64");
+        }
+        Path html = Files.createTempFile("extent-screenshot-check", ".html");
+        ExtentSparkReporter spark = new ExtentSparkReporter(html.toString());
+        spark.config().thumbnailForBase64(true);
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(spark);
+
+        ExtentTest node = extent.createTest("Screenshot check").createNode("STEP 1: capture");
+        // Spark hanya merender media node yang punya log, seperti log LogHelper.detail sebelum screenshot
+        node.info("Detail sebelum screenshot");
+        String first = randomPng();
+        String second = randomPng();
+        new ScreenshotPipeline.Screenshot("Screenshot pertama", first, "png").attachToExtent(node);
+        new ScreenshotPipeline.Screenshot("Screenshot kedua", second, "png").attachToExtent(node);
+        // Duplikat (isi sama dengan screenshot pertama) di test lain tetap harus tampil sebagai gambar
+        ExtentTest other = extent.createTest("Screenshot check duplikat").createNode("STEP 1: capture ulang");
+        other.info("Detail sebelum screenshot");
+        new ScreenshotPipeline.Screenshot("Screenshot duplikat", first, "png").attachToExtent(other);
+        extent.flush();
+
+        String report = new String(Files.readAllBytes(html), StandardCharsets.UTF_8);
+        Assert.assertEquals(count(report, "class=\"base64-img\" data-featherlight=\"image\"><img"), 3, "Jumlah gambar Base64 di HTML Extent");
+        Assert.assertEquals(count(report, "data:image/png;base64," + first), 2, "Screenshot pertama dan duplikatnya");
+        Assert.assertTrue(report.contains("data:image/png;base64," + second), "Screenshot kedua tidak ada di HTML");
+        Files.deleteIfExists(html);
+    }
+
+    @Test
+    public void fileStorageDoesNotRetainFrames() throws Exception {
+        if (!ScreenshotStore.ENABLED) {
+            throw new SkipException("SCREENSHOT_DEDUP=false, tidak ada entry yang bisa menahan frame");
+        }
+        int captures = 300;
+        long duplicatesBefore = ScreenshotStore.getDuplicateCount();
+        Set<Path> files = new HashSet<>();
+        for (int i = 0; i < captures; i++) {
+            String png = randomPng();
+            // Setiap screenshot unik diikuti duplikatnya, seperti screenshot halaman yang sama di step berikutnya
+            String path = new ScreenshotPipeline.Screenshot("Screenshot " + i, png, "png").storeFile();
+            String duplicate = new ScreenshotPipeline.Screenshot("Screenshot " + i + " ulang", png, "png").storeFile();
+            Assert.assertEquals(duplicate, path, "Duplikat harus menunjuk file yang sama");
+            files.add(Paths.get(ExtentReportsManager.REPORT_DIR, path));
+        }
+        ScreenshotPipeline.awaitPending();
+
+        try {
+            Assert.assertEquals(files.size(), captures, "Jumlah file screenshot unik");
+            for (Path file : files) {
+                Assert.assertTrue(Files.size(file) > 0, "File screenshot kosong: " + file);
+            }
+            Assert.assertEquals(ScreenshotStore.getDuplicateCount() - duplicatesBefore, captures, "Jumlah duplikat");
+            Assert.assertEquals(ScreenshotStore.getRetainedFrameCount(), 0, "Entry yang masih memegang byte screenshot");
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** PNG kecil dengan isi acak, agar tidak dianggap duplikat screenshot lain di run yang sama */
+    private static String randomPng() throws Exception {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                image.setRGB(x, y, ThreadLocalRandom.current().nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private static int count(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
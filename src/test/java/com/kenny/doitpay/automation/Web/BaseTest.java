@@ -5,6 +5,7 @@ import org.testng.annotations.BeforeMethod;
 import org.openqa.selenium.WebDriver;
 
 import com.kenny.doitpay.automation.Config.ChromeDriverFactory;
+import com.kenny.doitpay.automation.Config.LeanPageLoad;
 import com.kenny.doitpay.automation.Config.WebDriverManager;
 
 /**
@@ -33,6 +34,8 @@ public class BaseTest {
      * - Menginisialisasi WebDriver melalui {@link WebDriverManager} menggunakan {@link ChromeDriverFactory}.
      * - Memaksimalkan jendela browser.
      * - Membuka URL default aplikasi (https://www.saucedemo.com).
+     * - Jika <code>-DLEAN_PAGE_LOAD=true</code>, menerapkan {@link LeanPageLoad} sesuai
+     *   {@link #useLeanPageLoad()} dan menunggu readiness probe halaman.
      * </p>
      */
     @BeforeMethod(alwaysRun = true)
@@ -40,14 +43,27 @@ public class BaseTest {
         WebDriverManager.initDriver(new ChromeDriverFactory());
         driver = WebDriverManager.getDriver();
         driver.manage().window().maximize();
+        LeanPageLoad.setActive(WebDriverManager.getRawDriver(), useLeanPageLoad());
         driver.get("https://www.saucedemo.com");
+        LeanPageLoad.awaitReady(driver);
+    }
+
+    /**
+     * Override method ini dan kembalikan <code>false</code> pada test class yang
+     * membutuhkan tampilan lengkap (gambar, font, dll) ketika mode lean page load aktif.
+     *
+     * @return true jika resource non-esensial boleh diblokir untuk test class ini
+     */
+    protected boolean useLeanPageLoad() {
+        return true;
     }
 
     /**
      * Menutup dan membersihkan WebDriver setelah setiap metode test selesai dijalankan.
      * <p>
      * Memastikan driver dihentikan dengan benar dan dihapus dari {@link WebDriverManager} untuk
-     * mencegah memory leak.
+     * mencegah memory leak. Jika <code>-DDRIVER_POOL=true</code>, driver tidak di-quit melainkan
+     * di-reset dan dikembalikan ke {@link com.kenny.doitpay.automation.Config.DriverPool}.
      * </p>
      */
     @AfterMethod(alwaysRun = true)
@@ -9,6 +9,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.asserts.SoftAssert;
 
+import com.kenny.doitpay.automation.Helper.BrowserCheckpoint;
 import com.kenny.doitpay.automation.Helper.UtilsDataDriven;
 import com.kenny.doitpay.automation.Listeners.LogHelper;
 import com.kenny.doitpay.automation.Page.Checkout;
@@ -68,11 +69,32 @@ public class CheckoutTest extends BaseTest {
 				+ "/src/main/java/com/kenny/doitpay/automation/Resources/data.csv";
 		return UtilsDataDriven.getTestData(csvPath, null);
 	}
-	
-	
-	
-	
-	
+
+
+	/**
+	 * Memulai test dalam kondisi sudah login sebagai <b>standard_user</b>.
+	 * <p>
+	 * Login melalui UI hanya dijalankan sekali per run, test berikutnya
+	 * me-restore state dari {@link BrowserCheckpoint}.
+	 */
+	private void startFromLoggedInStandardUser() {
+		BrowserCheckpoint.startFrom("logged-in-standard_user",
+				() -> login.loginWithHardcodedCredentials("standard_user", true));
+	}
+
+
+	/**
+	 * Memulai test dalam kondisi sudah login dan semua produk sudah ada di keranjang
+	 * (posisi di halaman Cart).
+	 */
+	private void startFromCartWithAllProducts() {
+		BrowserCheckpoint.startFrom("cart-with-all-products", () -> {
+			startFromLoggedInStandardUser();
+			dashboard.selectAllProductsToCart();
+		});
+	}
+
+
 	
     /**
      * Test case untuk memverifikasi proses penambahan produk ke keranjang
@@ -104,7 +126,7 @@ public class CheckoutTest extends BaseTest {
 	@Test(dataProvider = "csvData")
 	public void addProductToCartFromDetailProduct(Map<String, String> data) {
 		
-		login.loginWithHardcodedCredentials("standard_user", true);
+		startFromLoggedInStandardUser();
 		dashboard.selectProduct(data.get("productname"));
 		
 	}
@@ -151,8 +173,7 @@ public class CheckoutTest extends BaseTest {
 	@Test(dataProvider = "csvData")
 	public void verifyResetAppState(Map<String, String> data) {
 		
-		login.loginWithHardcodedCredentials("standard_user", true);
-		dashboard.selectAllProductsToCart();
+		startFromCartWithAllProducts();
 		softAssert.assertTrue(dashboard.getCartItemCount() > 0, "Keranjang seharusnya berisi item sebelum reset");
 		dashboard.hamburgerBtn();
 		dashboard.resetStateApp();
@@ -224,15 +245,12 @@ public class CheckoutTest extends BaseTest {
 	public void flowCheckoutProductsE2E(Map<String, String> data) {
 		
 		try {
-	        login.loginWithHardcodedCredentials("standard_user", true);
-	        dashboard.selectAllProductsToCart();
+	        startFromCartWithAllProducts();
 
 	        Double expectedSubTotal = checkout.getTotalPriceInCart();
 
 	        checkout.checkoutProducts();
-	        checkout.inputFirstName(data.get("firstname"));
-	        checkout.inputLastName(data.get("lastname"));
-	        checkout.inputPostalCode(data.get("postalcode"));
+	        checkout.inputInformation(data.get("firstname"), data.get("lastname"), data.get("postalcode"));
 
 	       
 	        if (data.get("type").equalsIgnoreCase("positive")) {